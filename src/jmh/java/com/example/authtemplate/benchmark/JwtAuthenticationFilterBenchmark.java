@@ -0,0 +1,104 @@
+package com.example.authtemplate.benchmark;
+
+import com.example.authtemplate.config.JwtAuthenticationFilter;
+import com.example.authtemplate.config.JwtKeyRing;
+import com.example.authtemplate.config.JwtUtil;
+import com.example.authtemplate.config.VerifiedTokenCache;
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+import com.example.authtemplate.repository.RevokedTokenRepository;
+import com.example.authtemplate.repository.UserCredentials;
+import com.example.authtemplate.repository.UserRepository;
+import com.example.authtemplate.service.TokenRevocationService;
+import com.example.authtemplate.service.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}, with the
+ * repositories mocked so only token, cache and security-context work is measured.
+ *
+ * <p>Compares the default mode (principal loaded through the principal cache) with
+ * stateless mode (principal built from claims).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private static final long EXPIRATION_MS = 3_600_000;
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(42L)
+                .name("Bench User")
+                .email("bench.user@example.com")
+                .password("unused")
+                .enabled(true)
+                .role(Role.ROLE_USER)
+                .build();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findCredentialsByEmail(anyString())).thenReturn(Optional.of(UserCredentials.of(user)));
+        RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtUtil jwtUtil = new JwtUtil(JwtKeyRing.ephemeral(SECRET), EXPIRATION_MS, stateless, EXPIRATION_MS, false,
+                VerifiedTokenCache.disabled(), meterRegistry);
+        UserPrincipalCache principalCache = new UserPrincipalCache(userRepository, meterRegistry, 10_000, 300_000);
+        TokenRevocationService revocationService =
+                new TokenRevocationService(revokedTokenRepository, meterRegistry, 100_000, 0.001, 10_000);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, principalCache, revocationService);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/profile");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
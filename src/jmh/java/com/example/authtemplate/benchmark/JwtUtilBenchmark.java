@@ -0,0 +1,109 @@
+package com.example.authtemplate.benchmark;
+
+import com.example.authtemplate.config.JwtKeyRing;
+import com.example.authtemplate.config.JwtUtil;
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.config.VerifiedTokenCache;
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification in {@link JwtUtil}, without the verified-token cache.
+ *
+ * <p>Runs once per token profile: standard claims and the compact profile
+ * ({@code jwt.compact.enabled}). {@link #generateToken(TokenSize)} also reports the encoded
+ * size as the secondary results {@code tokens} and {@code tokenBytes}, so it lands in the JSON
+ * output: the size of one token is {@code tokenBytes / tokens}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private static final long EXPIRATION_MS = 3_600_000;
+
+    // Issue compact-profile tokens
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(JwtKeyRing.ephemeral(SECRET), EXPIRATION_MS, false, EXPIRATION_MS, compact,
+                VerifiedTokenCache.disabled(), new SimpleMeterRegistry());
+        user = User.builder()
+                .id(42L)
+                .name("Bench User")
+                .email("bench.user@example.com")
+                .password("unused")
+                .enabled(true)
+                .role(Role.ROLE_USER)
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken(TokenSize size) {
+        String generated = jwtUtil.generateToken(user);
+        size.tokens++;
+        size.tokenBytes += generated.length();
+        return generated;
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public ParsedToken parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+
+    // Encoded size of the issued tokens, reported next to the timing
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TokenSize {
+
+        public long tokens;
+
+        public long tokenBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokens = 0;
+            tokenBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.authtemplate.benchmark;
+
+import com.example.authtemplate.util.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password policy check on a valid, a too-weak and a long password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+
+    private static final String EMAIL = "bench.user@example.com";
+
+    @Param({"Str0ng!Passw0rd", "weakpassword", "L0ng-Passphrase-With-Many-Characters-And-Digits-1234567890!"})
+    public String password;
+
+    @Benchmark
+    public boolean isValid() {
+        return PasswordValidator.isValid(password, EMAIL);
+    }
+}
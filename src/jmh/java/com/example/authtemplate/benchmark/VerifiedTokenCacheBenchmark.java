@@ -0,0 +1,70 @@
+package com.example.authtemplate.benchmark;
+
+import com.example.authtemplate.config.JwtKeyRing;
+import com.example.authtemplate.config.JwtUtil;
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.config.VerifiedTokenCache;
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cached versus uncached verification of a hot access token.
+ *
+ * <p>Runs with several threads validating the same token, the pattern produced by a
+ * mobile client reusing its token.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class VerifiedTokenCacheBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private static final long EXPIRATION_MS = 3_600_000;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VerifiedTokenCache cache = new VerifiedTokenCache(cached, 16 * 1024 * 1024, meterRegistry);
+        jwtUtil = new JwtUtil(JwtKeyRing.ephemeral(SECRET), EXPIRATION_MS, false, EXPIRATION_MS, false, cache, meterRegistry);
+        token = jwtUtil.generateToken(User.builder()
+                .id(42L)
+                .name("Bench User")
+                .email("bench.user@example.com")
+                .password("unused")
+                .enabled(true)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+
+    @Benchmark
+    public ParsedToken parseToken() {
+        return jwtUtil.parseToken(token);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.authtemplate.config;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.List;
+
+/**
+ * Lightweight, immutable principal built from JWT claims.
+ *
+ * <p>The principal placed in the {@code SecurityContext}. In stateless mode it is built
+ * from the token claims, so authenticating a request never needs the user table; otherwise
+ * {@code UserPrincipalCache} builds it from the user's credentials projection.</p>
+ *
+ * @param id          user id
+ * @param email       user email (also the principal name); {@code null} from compact-profile tokens
+ * @param displayName user's display name
+ * @param roles       granted roles, e.g. {@code ROLE_USER}
+ * @param enabled     whether the account was enabled when the token was issued
+ */
+public record AuthenticatedUser(Long id,
+                                String email,
+                                String displayName,
+                                List<String> roles,
+                                boolean enabled) implements AuthenticatedPrincipal {
+
+    // Email, or the user id for principals built from compact-profile tokens
+    @Override
+    public String getName() {
+        return email != null ? email : String.valueOf(id);
+    }
+}
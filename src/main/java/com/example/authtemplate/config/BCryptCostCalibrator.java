@@ -0,0 +1,45 @@
+package com.example.authtemplate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks a BCrypt work factor that fits a per-hash latency budget on the current hardware.
+ *
+ * <p>Measures the fastest of a few hashes at the minimum cost, then extrapolates: every
+ * extra cost step doubles the work, so the chosen cost is the largest one whose
+ * projected time stays within the budget, clamped to {@code [minCost, maxCost]}.</p>
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    // Sample password used for timing only
+    private static final String SAMPLE_PASSWORD = "Calibration-Sample-Password-1!";
+
+    // Timed hashes at the minimum cost (after one warm-up)
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minCost);
+        encoder.encode(SAMPLE_PASSWORD); // warm-up
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        double baseMs = Math.max(bestNanos / 1_000_000.0, 0.001);
+        int extraSteps = (int) Math.floor(Math.log(targetMs / baseMs) / Math.log(2));
+        int cost = Math.max(minCost, Math.min(maxCost, minCost + extraSteps));
+
+        log.info("BCrypt calibration: cost {} took {} ms; using cost {} (~{} ms) for a {} ms budget",
+                minCost, String.format("%.1f", baseMs), cost,
+                String.format("%.0f", baseMs * Math.pow(2, cost - minCost)), targetMs);
+        return cost;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.authtemplate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for work that must stay on platform threads.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true}, Tomcat requests, the application
+ * task executor and the scheduler all run on virtual threads. Two kinds of work are kept
+ * off them:</p>
+ * <ul>
+ *   <li>SMTP: Jakarta Mail's {@code SMTPTransport} holds its monitor during socket I/O,
+ *       which pins the carrier thread on Java 21, so mail is sent on {@code mailExecutor}</li>
+ *   <li>BCrypt: CPU-bound, so it keeps its own CPU-sized pool in {@code PasswordHashingService}</li>
+ * </ul>
+ */
+@Configuration
+public class ExecutorConfig {
+
+    // Small platform-thread pool for SMTP sends; callers on virtual threads park (unpinned) while waiting
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mailExecutor(@Value("${auth.mail-outbox.sender-threads:2}") int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-sender-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
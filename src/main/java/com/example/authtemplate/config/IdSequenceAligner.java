@@ -0,0 +1,66 @@
+package com.example.authtemplate.config;
+
+import com.example.authtemplate.entity.IdGeneration;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Moves each table-backed id sequence past the highest id already in its table.
+ *
+ * <p>Runs once at startup, after Hibernate has created any missing {@code *_seq} tables
+ * (which start at 1) and before requests are served. Rows inserted while ids came from
+ * {@code IDENTITY} columns keep their ids; new rows continue above them. The update only
+ * ever raises {@code next_val}, so it is safe with several nodes starting at once.
+ * Databases with native sequences (H2 in tests) have no {@code *_seq} tables and are
+ * skipped.</p>
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depends on the EntityManagerFactory so schema updates have run before alignment
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        for (Map.Entry<String, String> sequence : IdGeneration.SEQUENCES.entrySet()) {
+            String sequenceTable = sequence.getKey();
+            String table = sequence.getValue();
+            if (!tableExists(sequenceTable)) {
+                continue;
+            }
+            int updated = jdbcTemplate.update(
+                    "update " + sequenceTable + " set next_val = (select coalesce(max(id), 0) + 1 from " + table + ")"
+                            + " where next_val <= (select coalesce(max(id), 0) from " + table + ")");
+            if (updated > 0) {
+                log.info("Aligned id sequence {} past the existing ids of {}", sequenceTable, table);
+            }
+        }
+    }
+
+    // Helper: whether the sequence is a table (MySQL) rather than a native sequence
+    private boolean tableExists(String name) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> tableExists(connection, name));
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static boolean tableExists(Connection connection, String name) throws SQLException {
+        try (ResultSet tables = connection.getMetaData()
+                .getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+}
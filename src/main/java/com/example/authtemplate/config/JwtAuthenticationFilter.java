@@ -1,13 +1,16 @@
 package com.example.authtemplate.config;
 
-import com.example.authtemplate.repository.UserRepository;
+import com.example.authtemplate.service.TokenRevocationService;
+import com.example.authtemplate.service.UserPrincipalCache;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -19,8 +22,14 @@ import java.io.IOException;
  * JWT authentication filter that validates tokens on every request.
  *
  * <p>Intercepts HTTP requests, extracts the JWT from the Authorization header,
- * validates it, and sets the authentication context if valid.</p>
+ * verifies it once, rejects revoked tokens, and sets the authentication context if valid. The verified
+ * token is stored under {@link ParsedToken#REQUEST_ATTRIBUTE} so downstream code
+ * can reuse it instead of parsing the header again.</p>
+ *
+ * <p>When {@code jwt.stateless.enabled=true} the principal is built from the token
+ * claims and the user table is never consulted.</p>
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -28,8 +37,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     // Utility for JWT operations (token generation, validation, extraction)
     private final JwtUtil jwtUtil;
 
-    // Repository for retrieving user details from the database
-    private final UserRepository userRepository;
+    // Cache of user details, backed by the database on a miss
+    private final UserPrincipalCache principalCache;
+
+    // Denylist of logged-out tokens (Bloom filter fast path)
+    private final TokenRevocationService revocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -38,35 +50,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String token = null;
+        final ServerTiming timing = ServerTiming.of(request);
+        ParsedToken parsedToken = null;
 
-        // Extract token from the "Authorization" header if present
+        // Extract and verify the token from the "Authorization" header if present
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
+            long start = timing.start();
             try {
-                username = jwtUtil.extractUsername(token);
+                parsedToken = jwtUtil.parseToken(authHeader.substring(7));
+                if (revocationService.isRevoked(parsedToken.jti())) {
+                    log.debug("JWT revoked: {}", parsedToken.jti());
+                    parsedToken = null;
+                } else {
+                    request.setAttribute(ParsedToken.REQUEST_ATTRIBUTE, parsedToken);
+                }
             } catch (ExpiredJwtException e) {
-                logger.error("JWT expired: {}");
+                // Routine for any client holding an old token; the request continues unauthenticated
+                log.debug("JWT expired: {}", e.getMessage());
             } catch (Exception e) {
-                logger.error("JWT error: {}");
+                log.warn("JWT rejected: {}", e.getMessage());
             }
+            timing.record("jwt", start);
         }
 
-        // Authenticate user if username is valid and context is not yet set
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var user = userRepository.findByEmail(username).orElse(null);
+        // Authenticate user if the token is valid and context is not yet set
+        if (parsedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = timing.start();
+            UsernamePasswordAuthenticationToken authToken = jwtUtil.isStateless()
+                    ? authenticateFromClaims(parsedToken)
+                    : authenticateFromUser(parsedToken);
+            timing.record("user", start);
 
-            if (user != null && jwtUtil.validateToken(token)) {
-                // Create an authentication token with user details and role
-                var authToken = new UsernamePasswordAuthenticationToken(
-                        user, null,
-                        user.getRole() != null
-                                ? java.util.List.of(() -> user.getRole().name())
-                                : java.util.List.of()
-                );
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
@@ -74,4 +90,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue the filter chain
         filterChain.doFilter(request, response);
     }
+
+    // Stateless mode: build an immutable principal from the token claims
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(ParsedToken parsedToken) {
+        return jwtUtil.toPrincipal(parsedToken)
+                .map(principal -> new UsernamePasswordAuthenticationToken(
+                        principal, null,
+                        principal.roles().stream().map(SimpleGrantedAuthority::new).toList()
+                ))
+                .orElse(null);
+    }
+
+    // Default mode: load the user (through the principal cache) named by the token
+    private UsernamePasswordAuthenticationToken authenticateFromUser(ParsedToken parsedToken) {
+        return principalCache.find(parsedToken)
+                .map(principal -> new UsernamePasswordAuthenticationToken(
+                        principal, null,
+                        principal.roles().stream().map(SimpleGrantedAuthority::new).toList()
+                ))
+                .orElse(null);
+    }
 }
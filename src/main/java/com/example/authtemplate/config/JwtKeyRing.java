@@ -0,0 +1,204 @@
+package com.example.authtemplate.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing key and kid-indexed verification keys for access tokens.
+ *
+ * <p>New tokens are signed ES256 with the active key and carry its {@code kid} header.
+ * Verification resolves the key from the header with one map lookup, so every
+ * configured key (active, upcoming and retired) is accepted during rotation windows.
+ * Tokens without a {@code kid} are legacy HS256 tokens and verify against
+ * {@code jwt.secret} while {@code jwt.signing.accept-legacy-hs256} is on.</p>
+ *
+ * <p>The public keys are published as a JWK Set ({@link #jwks()}) so other services
+ * can verify tokens locally.</p>
+ */
+@Slf4j
+@Component
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private static final int P256_COORDINATE_BYTES = 32;
+
+    private final String activeKid;
+    private final PrivateKey signingKey;
+
+    // Verification keys by kid (immutable, read without locking)
+    private final Map<String, PublicKey> verificationKeys;
+
+    // HS256 key for tokens issued before ES256, or null when they are no longer accepted
+    private final SecretKey legacyKey;
+
+    // JWK Set document, built once
+    private final Map<String, Object> jwks;
+
+    @Autowired
+    public JwtKeyRing(JwtSigningProperties properties, @Value("${jwt.secret}") String secret) {
+        this(loadKeys(properties), properties.getActiveKid(),
+                properties.isAcceptLegacyHs256() ? legacyKey(secret) : null);
+    }
+
+    // HS256 needs at least 256 bits; fail at startup with a message that names the setting
+    private static SecretKey legacyKey(String secret) {
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("jwt.secret (JWT_SECRET) must be at least 32 bytes to verify legacy HS256 "
+                    + "tokens, but is " + bytes.length + "; set a longer secret or jwt.signing.accept-legacy-hs256=false");
+        }
+        return Keys.hmacShaKeyFor(bytes);
+    }
+
+    private JwtKeyRing(LoadedKeys keys, String activeKid, SecretKey legacyKey) {
+        if (keys.privateKeys().isEmpty() && activeKid.isBlank()) {
+            KeyPair generated = generateKeyPair();
+            activeKid = "ephemeral-" + UUID.randomUUID();
+            keys.privateKeys().put(activeKid, generated.getPrivate());
+            keys.publicKeys().put(activeKid, generated.getPublic());
+            log.warn("No jwt.signing keys configured; generated ephemeral key {}. Tokens will not survive a restart "
+                    + "or verify on other instances.", activeKid);
+        }
+        if (!keys.privateKeys().containsKey(activeKid) || !keys.publicKeys().containsKey(activeKid)) {
+            throw new IllegalStateException("jwt.signing.active-kid '" + activeKid
+                    + "' must name a key with both a private and a public key");
+        }
+        this.activeKid = activeKid;
+        this.signingKey = keys.privateKeys().get(activeKid);
+        this.verificationKeys = Map.copyOf(keys.publicKeys());
+        this.legacyKey = legacyKey;
+        this.jwks = Map.of("keys", verificationKeys.entrySet().stream()
+                .map(entry -> toJwk(entry.getKey(), (ECPublicKey) entry.getValue()))
+                .toList());
+    }
+
+    // Key ring with a fresh ephemeral key (benchmarks, tests); legacySecret may be null
+    public static JwtKeyRing ephemeral(String legacySecret) {
+        return new JwtKeyRing(new LoadedKeys(new LinkedHashMap<>(), new LinkedHashMap<>()), "",
+                legacySecret != null ? legacyKey(legacySecret) : null);
+    }
+
+    public String activeKid() {
+        return activeKid;
+    }
+
+    public PrivateKey signingKey() {
+        return signingKey;
+    }
+
+    // Public keys as a JWK Set ({"keys": [...]})
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey == null) {
+                throw new UnsupportedJwtException("Token has no kid");
+            }
+            return legacyKey;
+        }
+        PublicKey key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    // Helper: parse the configured key pairs
+    private static LoadedKeys loadKeys(JwtSigningProperties properties) {
+        LoadedKeys keys = new LoadedKeys(new LinkedHashMap<>(), new LinkedHashMap<>());
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            for (Map.Entry<String, JwtSigningProperties.KeyPair> entry : properties.getKeys().entrySet()) {
+                JwtSigningProperties.KeyPair pair = entry.getValue();
+                if (pair.getPublicKey() != null && !pair.getPublicKey().isBlank()) {
+                    keys.publicKeys().put(entry.getKey(),
+                            keyFactory.generatePublic(new X509EncodedKeySpec(decode(pair.getPublicKey()))));
+                }
+                if (pair.getPrivateKey() != null && !pair.getPrivateKey().isBlank()) {
+                    keys.privateKeys().put(entry.getKey(),
+                            keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decode(pair.getPrivateKey()))));
+                }
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid jwt.signing key: " + e.getMessage(), e);
+        }
+        return keys;
+    }
+
+    // Helper: base64 DER, with or without PEM armour
+    private static byte[] decode(String value) {
+        String base64 = value.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate an ES256 key pair", e);
+        }
+    }
+
+    // Helper: RFC 7517 JWK of a P-256 public key
+    private static Map<String, Object> toJwk(String kid, ECPublicKey key) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", "ES256");
+        jwk.put("x", encoder.encodeToString(coordinate(key.getW().getAffineX())));
+        jwk.put("y", encoder.encodeToString(coordinate(key.getW().getAffineY())));
+        return jwk;
+    }
+
+    // Helper: unsigned, left-padded 32-byte big-endian coordinate
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == P256_COORDINATE_BYTES) {
+            return bytes;
+        }
+        if (bytes.length > P256_COORDINATE_BYTES) {
+            return Arrays.copyOfRange(bytes, bytes.length - P256_COORDINATE_BYTES, bytes.length);
+        }
+        byte[] padded = new byte[P256_COORDINATE_BYTES];
+        System.arraycopy(bytes, 0, padded, P256_COORDINATE_BYTES - bytes.length, bytes.length);
+        return padded;
+    }
+
+    private record LoadedKeys(Map<String, PrivateKey> privateKeys, Map<String, PublicKey> publicKeys) {
+    }
+}
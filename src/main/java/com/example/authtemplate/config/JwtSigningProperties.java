@@ -0,0 +1,48 @@
+package com.example.authtemplate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ES256 signing keys, bound from {@code jwt.signing.*}.
+ *
+ * <p>Keys are P-256 key pairs identified by a {@code kid}; values are base64 DER
+ * (PKCS#8 private, X.509 public), PEM armour allowed. To rotate:</p>
+ * <ul>
+ *   <li>Add the new key pair and publish it (it appears in the JWKS) before using it</li>
+ *   <li>Point {@code active-kid} at it; new tokens are signed with it</li>
+ *   <li>Keep the old key's public half until its last token has expired, then remove it</li>
+ * </ul>
+ * Without any configured key an ephemeral key pair is generated at startup, which is only
+ * suitable for a single development instance.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+
+    // kid of the key that signs new tokens
+    private String activeKid = "";
+
+    // Accept tokens signed with jwt.secret (HS256, no kid) issued before the switch to ES256
+    private boolean acceptLegacyHs256 = true;
+
+    // Keys by kid
+    private Map<String, KeyPair> keys = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class KeyPair {
+
+        // Required for the active key only
+        private String privateKey;
+
+        private String publicKey;
+    }
+}
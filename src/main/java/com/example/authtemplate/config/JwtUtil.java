@@ -1,67 +1,259 @@
 package com.example.authtemplate.config;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.Date;
-
-import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+import com.example.authtemplate.repository.UserCredentials;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Utility class for handling JWT operations.
  *
  * <p>Provides methods to generate, validate, and extract claims from JWT tokens.
- * Configurable secret key and expiration time are injected from application properties.</p>
+ * Tokens are signed ES256 with the active key of {@link JwtKeyRing} and carry its
+ * {@code kid}, so other services can verify them with the keys published at
+ * {@code /.well-known/jwks.json}. The parser resolves the verification key by {@code kid}
+ * and is built once at startup and shared by all requests.</p>
+ *
+ * <p>Tokens issued for a {@link User} carry the user id, name, roles and enabled state,
+ * which lets {@code jwt.stateless.enabled=true} deployments authenticate requests from
+ * the claims alone. {@code jwt.stateless.max-staleness-ms} bounds how old such claims
+ * may be before the token stops being accepted.</p>
+ *
+ * <p>With {@code jwt.compact.enabled=true}, user tokens use the compact profile: the
+ * subject is the numeric user id, the jti is a 22-character base64url UUID, roles are a
+ * {@link Role} bitmask in {@code r}, and the enabled state is {@code v} (1/0); email and
+ * name are left out. Both profiles are always accepted, so the switch can be made (or
+ * reverted) while tokens of the other profile are still live.</p>
+ *
+ * <p>Signing and signature verification are timed as {@code auth.jwt{op,outcome}};
+ * verification outcomes are {@code success}, {@code expired}, {@code bad_signature},
+ * {@code malformed} and {@code invalid}. Cache hits are not verified and not timed.</p>
  */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expirationMs;
+
+    // Authenticate from claims alone instead of loading the user
+    private final boolean stateless;
+
+    // Maximum age of claims trusted in stateless mode
+    private final long maxStalenessMs;
+
+    // Issue user tokens in the compact profile
+    private final boolean compact;
+
+    // Active signing key and kid-indexed verification keys
+    private final JwtKeyRing keyRing;
+
+    // Thread-safe parser resolving keys from the key ring, built once
+    private final JwtParser parser;
+
+    // Optional cache of tokens that already passed verification
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    @Value("${jwt.expirationMs}")
-    private long expirationMs;
+    private final Timer signTimer;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Verification timers by outcome
+    private final Map<String, Timer> verifyTimers;
+
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${jwt.expirationMs}") long expirationMs,
+                   @Value("${jwt.stateless.enabled:false}") boolean stateless,
+                   @Value("${jwt.stateless.max-staleness-ms:${jwt.expirationMs}}") long maxStalenessMs,
+                   @Value("${jwt.compact.enabled:false}") boolean compact,
+                   VerifiedTokenCache verifiedTokenCache,
+                   MeterRegistry meterRegistry) {
+        this.expirationMs = expirationMs;
+        this.stateless = stateless;
+        this.maxStalenessMs = maxStalenessMs;
+        this.compact = compact;
+        this.keyRing = keyRing;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.signTimer = jwtTimer(meterRegistry, "sign", "success");
+        this.verifyTimers = Map.of(
+                "success", jwtTimer(meterRegistry, "verify", "success"),
+                "expired", jwtTimer(meterRegistry, "verify", "expired"),
+                "bad_signature", jwtTimer(meterRegistry, "verify", "bad_signature"),
+                "malformed", jwtTimer(meterRegistry, "verify", "malformed"),
+                "invalid", jwtTimer(meterRegistry, "verify", "invalid"));
     }
 
     // Generate a JWT token for the given username with roles
     public String generateToken(String username, String... roles) {
-        return Jwts.builder()
+        return signTimer.record(() -> Jwts.builder()
+                .setHeaderParam("kid", keyRing.activeKid())
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
                 .claim("roles", roles) // embed roles in token
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .signWith(keyRing.signingKey(), SignatureAlgorithm.ES256)
+                .compact());
+    }
+
+    // Generate a JWT token for the given user, embedding the claims stateless mode relies on
+    public String generateToken(User user) {
+        return generateToken(UserCredentials.of(user));
+    }
+
+    // Generate a JWT token from a user's credentials projection
+    public String generateToken(UserCredentials user) {
+        if (compact) {
+            return generateCompactToken(user);
+        }
+        return signTimer.record(() -> Jwts.builder()
+                .setHeaderParam("kid", keyRing.activeKid())
+                .setSubject(user.email())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                .claim("uid", user.id())
+                .claim("name", user.name())
+                .claim("roles", new String[]{user.role().name()})
+                .claim("enabled", user.enabled())
+                .signWith(keyRing.signingKey(), SignatureAlgorithm.ES256)
+                .compact());
+    }
+
+    // Helper: compact profile (numeric subject, short jti, role bitmask, no email or name)
+    private String generateCompactToken(UserCredentials user) {
+        long now = System.currentTimeMillis();
+        return signTimer.record(() -> Jwts.builder()
+                .setHeaderParam("kid", keyRing.activeKid())
+                .setSubject(String.valueOf(user.id()))
+                .setId(shortId())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
+                .claim("r", user.role().bit())
+                .claim("v", user.enabled() ? 1 : 0)
+                .signWith(keyRing.signingKey(), SignatureAlgorithm.ES256)
+                .compact());
+    }
+
+    /**
+     * Verify a token once and expose the claims callers need.
+     *
+     * @param token compact JWT
+     * @return the verified token contents
+     * @throws JwtException if the token is malformed, tampered with, or expired
+     */
+    public ParsedToken parseToken(String token) {
+        return verifiedTokenCache.get(token, this::verify);
+    }
+
+    // Helper: verify the signature and expiry, then read the claims
+    private ParsedToken verify(String token) {
+        long start = System.nanoTime();
+        String outcome = "invalid";
+        try {
+            ParsedToken parsed = toParsedToken(token, extractAllClaims(token));
+            outcome = "success";
+            return parsed;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } catch (SignatureException e) {
+            outcome = "bad_signature";
+            throw e;
+        } catch (MalformedJwtException e) {
+            outcome = "malformed";
+            throw e;
+        } finally {
+            verifyTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Helper: copy the verified claims into a ParsedToken
+    private static ParsedToken toParsedToken(String token, Claims claims) {
+        if (claims.get("r") instanceof Number roleMask) {
+            return new ParsedToken(
+                    token,
+                    null,
+                    Long.valueOf(claims.getSubject()),
+                    null,
+                    claims.get("v") instanceof Number enabled ? enabled.intValue() == 1 : null,
+                    Role.namesOf(roleMask.intValue()),
+                    claims.getIssuedAt(),
+                    claims.getExpiration(),
+                    claims.getId()
+            );
+        }
+        return new ParsedToken(
+                token,
+                claims.getSubject(),
+                claims.get("uid") instanceof Number uid ? uid.longValue() : null,
+                claims.get("name", String.class),
+                claims.get("enabled", Boolean.class),
+                toRoles(claims.get("roles")),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims.getId()
+        );
+    }
+
+    // Whether requests are authenticated from token claims without a user lookup
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /**
+     * Build a principal from the claims of a verified token.
+     *
+     * <p>Empty if the token predates the user claims, was issued to a disabled account,
+     * or is older than the configured staleness window.</p>
+     */
+    public Optional<AuthenticatedUser> toPrincipal(ParsedToken token) {
+        if (token.userId() == null || !Boolean.TRUE.equals(token.enabled()) || token.issuedAt() == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - token.issuedAt().getTime() > maxStalenessMs) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuthenticatedUser(
+                token.userId(), token.subject(), token.name(), token.roles(), true));
     }
 
-    // Extract the username (subject) from a JWT token
+    // Extract the username (email, or the user id for compact-profile tokens) from a JWT token
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        ParsedToken parsed = parseToken(token);
+        return parsed.subject() != null ? parsed.subject() : String.valueOf(parsed.userId());
     }
 
     // Extract roles from the token
     public String[] extractRoles(String token) {
-        Object roles = extractAllClaims(token).get("roles");
-        if (roles instanceof String[]) {
-            return (String[]) roles;
-        } else if (roles instanceof java.util.List) {
-            return ((java.util.List<?>) roles).toArray(new String[0]);
-        }
-        return new String[0];
+        return parseToken(token).roles().toArray(new String[0]);
     }
 
     // Validate the integrity and expiration of a JWT token
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token); // will throw if invalid or expired
+            parseToken(token); // will throw if invalid or expired
             return true;
         } catch (Exception e) {
             return false;
@@ -70,10 +262,32 @@ public class JwtUtil {
 
     // Helper: extract all claims
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Helper: random UUID as 22 base64url characters
+    private static String shortId() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuffer bytes = ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    private static Timer jwtTimer(MeterRegistry meterRegistry, String op, String outcome) {
+        return Timer.builder("auth.jwt")
+                .tag("op", op)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // Helper: normalize the roles claim to a list of strings
+    private static List<String> toRoles(Object roles) {
+        if (roles instanceof String[] array) {
+            return List.of(array);
+        } else if (roles instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
+        }
+        return List.of();
     }
 }
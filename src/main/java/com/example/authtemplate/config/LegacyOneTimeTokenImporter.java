@@ -0,0 +1,131 @@
+package com.example.authtemplate.config;
+
+import com.example.authtemplate.entity.TokenPurpose;
+import com.example.authtemplate.service.OneTimeTokenStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves unexpired tokens from the old {@code verification_tokens} and
+ * {@code password_reset_tokens} tables into the {@link OneTimeTokenStore}.
+ *
+ * <p>Runs once at startup, so links mailed before the upgrade keep working:</p>
+ * <ul>
+ *   <li>Rows are read in id order, {@code auth.purge.batch-size} at a time, and only the rows
+ *       of each batch are deleted once they are in the store</li>
+ *   <li>Rows still being inserted by not-yet-upgraded nodes during a rolling deploy are left
+ *       in place and picked up at the next startup</li>
+ *   <li>A token another node has already imported is skipped (and its row deleted)</li>
+ *   <li>Nothing is imported into a store that is not durable ({@code auth.one-time-tokens.store=memory}):
+ *       the rows stay where they are rather than being moved into process memory</li>
+ * </ul>
+ *
+ * <p>Databases without the old tables are skipped. Once every node runs this version and the
+ * tables are empty apart from expired rows, they can be dropped.</p>
+ */
+@Slf4j
+@Component
+public class LegacyOneTimeTokenImporter {
+
+    // Old table -> purpose of its tokens
+    private static final Map<String, TokenPurpose> TABLES = Map.of(
+            "verification_tokens", TokenPurpose.EMAIL_VERIFICATION,
+            "password_reset_tokens", TokenPurpose.PASSWORD_RESET
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OneTimeTokenStore oneTimeTokenStore;
+    private final int batchSize;
+
+    // Depends on the EntityManagerFactory so schema updates have run before the import
+    public LegacyOneTimeTokenImporter(JdbcTemplate jdbcTemplate,
+                                      OneTimeTokenStore oneTimeTokenStore,
+                                      EntityManagerFactory entityManagerFactory,
+                                      @Value("${auth.purge.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.oneTimeTokenStore = oneTimeTokenStore;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void importTokens() {
+        for (Map.Entry<String, TokenPurpose> table : TABLES.entrySet()) {
+            if (!tableExists(table.getKey())) {
+                continue;
+            }
+            if (!oneTimeTokenStore.isDurable()) {
+                log.warn("Not importing tokens from {}: the configured one-time-token store is not durable",
+                        table.getKey());
+                continue;
+            }
+            int imported = importTable(table.getKey(), table.getValue());
+            if (imported > 0) {
+                log.info("Imported {} unexpired tokens from {}", imported, table.getKey());
+            }
+        }
+    }
+
+    // Helper: copy the unexpired rows of one table into the store a batch at a time,
+    // deleting exactly the rows of each batch once they are stored
+    private int importTable(String table, TokenPurpose purpose) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int imported = 0;
+        long afterId = 0;
+        while (true) {
+            List<LegacyToken> tokens = jdbcTemplate.query(
+                    "select id, token, user_id, expiry_date from " + table
+                            + " where id > ? and expiry_date > ? order by id limit ?",
+                    (rs, rowNum) -> new LegacyToken(rs.getLong(1), rs.getString(2), rs.getLong(3),
+                            rs.getTimestamp(4).toLocalDateTime()),
+                    afterId, now, batchSize);
+            if (tokens.isEmpty()) {
+                return imported;
+            }
+
+            for (LegacyToken token : tokens) {
+                try {
+                    oneTimeTokenStore.save(purpose, token.token(), token.userId(), token.expiresAt());
+                    imported++;
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("Token {} from {} already imported by another node", token.id(), table);
+                }
+            }
+            jdbcTemplate.batchUpdate("delete from " + table + " where id = ?",
+                    tokens.stream().map(token -> new Object[]{token.id()}).toList());
+
+            afterId = tokens.get(tokens.size() - 1).id();
+            if (tokens.size() < batchSize) {
+                return imported;
+            }
+        }
+    }
+
+    private boolean tableExists(String name) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> tableExists(connection, name));
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static boolean tableExists(Connection connection, String name) throws SQLException {
+        try (ResultSet tables = connection.getMetaData()
+                .getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private record LegacyToken(long id, String token, long userId, LocalDateTime expiresAt) {
+    }
+}
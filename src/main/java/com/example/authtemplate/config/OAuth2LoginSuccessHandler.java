@@ -3,6 +3,7 @@ package com.example.authtemplate.config;
 import com.example.authtemplate.entity.Role;
 import com.example.authtemplate.entity.User;
 import com.example.authtemplate.repository.UserRepository;
+import com.example.authtemplate.service.RefreshTokenService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,6 +32,7 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request,
@@ -77,15 +79,16 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
             return userRepository.save(newUser);
         });
 
-        // Generate JWT token
-        String token = jwtUtil.generateToken(user.getEmail());
+        // Generate JWT and refresh tokens
+        String token = jwtUtil.generateToken(user);
+        String refreshToken = refreshTokenService.issue(user.getId());
 
         // Write JSON response
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
         response.getWriter().write(String.format(
-                "{ \"accessToken\": \"%s\", \"userId\": %d, \"email\": \"%s\", \"role\": \"%s\" }",
-                token, user.getId(), user.getEmail(), user.getRole().name()
+                "{ \"accessToken\": \"%s\", \"refreshToken\": \"%s\", \"userId\": %d, \"email\": \"%s\", \"role\": \"%s\" }",
+                token, refreshToken, user.getId(), user.getEmail(), user.getRole().name()
         ));
     }
 }
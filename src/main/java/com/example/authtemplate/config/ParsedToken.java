@@ -0,0 +1,37 @@
+package com.example.authtemplate.config;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Result of verifying a JWT once.
+ *
+ * <p>Produced by {@link JwtUtil#parseToken(String)} after the signature and expiry
+ * have been checked, so callers can read the claims they need without parsing the
+ * compact token again. Standard and compact-profile tokens produce the same record;
+ * compact-profile tokens carry no email or name, so consumers resolve the user by
+ * {@link #userId()} when {@link #subject()} is {@code null}.</p>
+ *
+ * @param token     the compact token the claims were read from
+ * @param subject   user email, or {@code null} for compact-profile tokens (whose subject is the user id)
+ * @param userId    user id, or {@code null} for tokens issued without it
+ * @param name      display name claim, or {@code null} for tokens issued without it
+ * @param enabled   enabled-state claim, or {@code null} for tokens issued without it
+ * @param roles     roles embedded in the token
+ * @param issuedAt  issue time, or {@code null} if the token carries none
+ * @param expiresAt expiry time
+ * @param jti       token identifier, or {@code null} if the token carries none
+ */
+public record ParsedToken(String token,
+                          String subject,
+                          Long userId,
+                          String name,
+                          Boolean enabled,
+                          List<String> roles,
+                          Date issuedAt,
+                          Date expiresAt,
+                          String jti) {
+
+    // Request attribute under which JwtAuthenticationFilter stores the parsed token
+    public static final String REQUEST_ATTRIBUTE = ParsedToken.class.getName();
+}
@@ -0,0 +1,61 @@
+package com.example.authtemplate.config;
+
+import com.example.authtemplate.exception.RateLimitExceededException;
+import com.example.authtemplate.service.RateLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Per-IP rate limiting for the auth endpoints.
+ *
+ * <p>Runs ahead of authentication so throttled requests never reach BCrypt or the
+ * database. Rejections are passed to the MVC exception resolver, which renders the
+ * same 429 + Retry-After response as the per-account checks. The client address is
+ * {@link HttpServletRequest#getRemoteAddr()}; behind a proxy, enable
+ * {@code server.forward-headers-strategy} so it reflects the real client.</p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH_PREFIX = "/api/auth/";
+
+    private final RateLimitService rateLimitService;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public RateLimitFilter(RateLimitService rateLimitService,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.rateLimitService = rateLimitService;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !"POST".equals(request.getMethod())
+                || !path.startsWith(AUTH_PATH_PREFIX)
+                || !rateLimitService.hasIpLimit(path.substring(AUTH_PATH_PREFIX.length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = request.getServletPath().substring(AUTH_PATH_PREFIX.length());
+        try {
+            rateLimitService.checkIp(endpoint, request.getRemoteAddr());
+        } catch (RateLimitExceededException e) {
+            exceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
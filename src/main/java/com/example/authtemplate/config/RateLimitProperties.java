@@ -0,0 +1,55 @@
+package com.example.authtemplate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limits for the public auth endpoints, bound from {@code auth.rate-limit.*}.
+ *
+ * <p>Limits are configured per endpoint (the path segment after {@code /api/auth/})
+ * and per key:</p>
+ * <ul>
+ *   <li>{@code ip}: requests from one client address</li>
+ *   <li>{@code account}: requests targeting one email address</li>
+ * </ul>
+ * Endpoints or keys without a limit are not throttled.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "auth.rate-limit")
+public class RateLimitProperties {
+
+    // Master switch
+    private boolean enabled = true;
+
+    // Upper bound on tracked keys per endpoint and key type; beyond it the least frequently used are evicted
+    private int maxKeys = 100_000;
+
+    // Limits by endpoint name, e.g. "login"
+    private Map<String, EndpointLimits> endpoints = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class EndpointLimits {
+        private Limit ip;
+        private Limit account;
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        // Burst size
+        private int capacity;
+
+        // Time to refill a full burst
+        private Duration period;
+    }
+}
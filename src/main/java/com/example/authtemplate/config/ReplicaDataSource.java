@@ -0,0 +1,120 @@
+package com.example.authtemplate.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load-balanced pool of read replicas with health-based ejection.
+ *
+ * <p>Connections are taken round-robin from the healthy replicas:</p>
+ * <ul>
+ *   <li>A replica whose {@code getConnection} fails is ejected for the ejection period and
+ *       the next replica is tried</li>
+ *   <li>{@link #probe()} re-validates every replica and re-admits those that answer</li>
+ *   <li>When no replica is available, connections come from the fallback (the primary),
+ *       so reads degrade to the primary instead of failing</li>
+ * </ul>
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final DataSource fallback;
+    private final long ejectionMs;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(List<DataSource> replicas, DataSource fallback, long ejectionMs, int validationTimeoutSeconds) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.fallback = fallback;
+        this.ejectionMs = ejectionMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = next.getAndIncrement() & Integer.MAX_VALUE;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.ejectedUntil > now) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+        return fallback.getConnection();
+    }
+
+    // Replica pools are built with fixed credentials (as HikariCP itself requires)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    // Validate every replica; healthy ones are re-admitted, failing ones (re-)ejected
+    public void probe() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(validationTimeoutSeconds)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (replica.ejectedUntil != 0) {
+                    log.info("Read replica {} is healthy again", replica.index);
+                    replica.ejectedUntil = 0;
+                }
+            } catch (SQLException e) {
+                eject(replica, e);
+            }
+        }
+    }
+
+    // Number of replicas currently accepting reads
+    public int healthyCount() {
+        long now = System.currentTimeMillis();
+        return (int) replicas.stream().filter(replica -> replica.ejectedUntil <= now).count();
+    }
+
+    // Close the replica pools (the fallback belongs to the caller)
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void eject(Replica replica, SQLException cause) {
+        if (replica.ejectedUntil <= System.currentTimeMillis()) {
+            log.warn("Ejecting read replica {} for {} ms: {}", replica.index, ejectionMs, cause.getMessage());
+        }
+        replica.ejectedUntil = System.currentTimeMillis() + ejectionMs;
+    }
+
+    private static final class Replica {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private final int index = COUNTER.getAndIncrement();
+        private final DataSource dataSource;
+
+        // Epoch millis until which the replica receives no reads; 0 when healthy
+        private volatile long ejectedUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
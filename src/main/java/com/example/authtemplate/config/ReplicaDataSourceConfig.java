@@ -0,0 +1,100 @@
+package com.example.authtemplate.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write datasource routing (enabled with {@code auth.datasource.replicas.enabled=true}).
+ *
+ * <p>The application {@link DataSource} is a {@link LazyConnectionDataSourceProxy} over the
+ * {@code spring.datasource.*} primary. The physical connection is only fetched at the first
+ * statement, after the transaction manager has marked it read-only or not, so:</p>
+ * <ul>
+ *   <li>{@code @Transactional(readOnly = true)} transactions (the user and token lookups in
+ *       the repositories) read from {@link ReplicaDataSource}</li>
+ *   <li>Read-write transactions, including their reads, stay on the primary; a read-only
+ *       method called inside one joins it and never sees replica lag</li>
+ *   <li>Failing replicas are ejected and re-admitted by a periodic probe; with no healthy
+ *       replica, reads fall back to the primary</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "auth.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private ReplicaDataSource replicaDataSource;
+
+    // Primary pool, bound from spring.datasource.* and spring.datasource.hikari.*
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 DataSourceProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${auth.datasource.replicas.username:}") String username,
+                                 @Value("${auth.datasource.replicas.password:}") String password,
+                                 @Value("${auth.datasource.replicas.pool-size:10}") int poolSize,
+                                 @Value("${auth.datasource.replicas.ejection-ms:30000}") long ejectionMs,
+                                 @Value("${auth.datasource.replicas.validation-timeout-s:2}") int validationTimeoutSeconds) {
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + replicas.size());
+            config.setJdbcUrl(url.trim());
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setUsername(username.isBlank() ? properties.determineUsername() : username);
+            config.setPassword(password.isBlank() ? properties.determinePassword() : password);
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            // Start even when a replica is down; the probe admits it once it answers
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+        replicaDataSource = new ReplicaDataSource(replicas, primaryDataSource, ejectionMs, validationTimeoutSeconds);
+        Gauge.builder("auth.datasource.replicas.healthy", replicaDataSource, ReplicaDataSource::healthyCount)
+                .register(meterRegistry);
+
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(replicaDataSource);
+        return routing;
+    }
+
+    // Re-admit recovered replicas and eject those failing validation
+    @Scheduled(fixedDelayString = "${auth.datasource.replicas.health-check-interval-ms:10000}")
+    public void probeReplicas() {
+        if (replicaDataSource != null) {
+            replicaDataSource.probe();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (replicaDataSource != null) {
+            replicaDataSource.close();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.authtemplate.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -7,10 +8,13 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 /**
  * Spring Security configuration class.
  *
@@ -18,6 +22,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * <ul>
  *   <li>Authentication mechanism (OAuth2 + JWT)</li>
  *   <li>Authorization rules</li>
+ *   <li>Rate limiting of the auth endpoints</li>
  *   <li>Custom login page</li>
  * </ul>
  *
@@ -26,17 +31,34 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ServerTimingFilter serverTimingFilter;
     private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter,
+                          RateLimitFilter rateLimitFilter,
+                          ServerTimingFilter serverTimingFilter,
                           OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.serverTimingFilter = serverTimingFilter;
         this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
     }
 
+    // BCrypt at a cost calibrated to the latency budget (or fixed via auth.password.bcrypt.cost),
+    // behind a delegating encoder so hashes with an older cost or format can be upgraded on login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt.cost:0}") int fixedCost,
+                                           @Value("${auth.password.bcrypt.target-ms:250}") long targetMs,
+                                           @Value("${auth.password.bcrypt.min-cost:10}") int minCost,
+                                           @Value("${auth.password.bcrypt.max-cost:16}") int maxCost) {
+        int cost = fixedCost > 0 ? fixedCost : BCryptCostCalibrator.calibrate(targetMs, minCost, maxCost);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes stored before the {bcrypt} prefix was introduced
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -53,11 +75,16 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
                         .requestMatchers("/api/auth/**", "/oauth2/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
 
                         // Static resources
                         .requestMatchers("/css/**", "/js/**", "/pages/**", "/dashboard.html", "/login.html",
                                 "/register.html", "/reset-password.html","/favicon.ico").permitAll()
 
+                        // Actuator: health is public, everything else is admin-only
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Admin endpoints
                         .requestMatchers("/admin/**").hasRole("ADMIN")
 
@@ -72,6 +99,10 @@ public class SecurityConfig {
                         .loginPage("/login") // optional: your custom login page
                         .successHandler(oAuth2LoginSuccessHandler)
                 )
+                // Opt-in Server-Timing breakdown; first, so it sees every later step
+                .addFilterBefore(serverTimingFilter, UsernamePasswordAuthenticationFilter.class)
+                // Per-IP throttling of the auth endpoints, ahead of any token or password work
+                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,104 @@
+package com.example.authtemplate.config;
+
+import jakarta.servlet.ServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Locale;
+
+/**
+ * Per-request collector for the {@code Server-Timing} response header.
+ *
+ * <p>Created by {@link ServerTimingFilter} only for requests that opted in, and stored
+ * as a request attribute; everywhere else {@link #current()} returns {@link #NOOP},
+ * whose methods do nothing. Usage:</p>
+ * <pre>
+ * ServerTiming timing = ServerTiming.current();
+ * long start = timing.start();
+ * ... work ...
+ * timing.record("user", start);
+ * </pre>
+ *
+ * <p>A request's steps run one after another (possibly handed between threads through
+ * a {@code CompletableFuture}), so the collector uses plain arrays without locking.
+ * Capture it on the request thread before handing work to another executor.</p>
+ */
+public final class ServerTiming {
+
+    public static final String REQUEST_ATTRIBUTE = ServerTiming.class.getName();
+
+    // Collector for requests without timing; records nothing
+    public static final ServerTiming NOOP = new ServerTiming(false);
+
+    private static final int MAX_METRICS = 8;
+
+    private final boolean enabled;
+    private final String[] names;
+    private final long[] nanos;
+    private int size;
+
+    private ServerTiming(boolean enabled) {
+        this.enabled = enabled;
+        this.names = enabled ? new String[MAX_METRICS] : null;
+        this.nanos = enabled ? new long[MAX_METRICS] : null;
+    }
+
+    // New active collector
+    static ServerTiming create() {
+        return new ServerTiming(true);
+    }
+
+    // Collector of the current request, or NOOP
+    public static ServerTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NOOP;
+        }
+        Object timing = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return timing instanceof ServerTiming serverTiming ? serverTiming : NOOP;
+    }
+
+    // Collector of the given request, or NOOP
+    public static ServerTiming of(ServletRequest request) {
+        return request.getAttribute(REQUEST_ATTRIBUTE) instanceof ServerTiming serverTiming ? serverTiming : NOOP;
+    }
+
+    // Start of a step; 0 when timing is off
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    // Add the time since start to the named step (repeated steps accumulate)
+    public void record(String name, long startNanos) {
+        if (enabled) {
+            add(name, System.nanoTime() - startNanos);
+        }
+    }
+
+    // Helper: accumulate by name; extra names beyond the fixed capacity are dropped
+    void add(String name, long durationNanos) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                nanos[i] += durationNanos;
+                return;
+            }
+        }
+        if (size < MAX_METRICS) {
+            names[size] = name;
+            nanos[size] = durationNanos;
+            size++;
+        }
+    }
+
+    // Header value, e.g. "jwt;dur=0.412, user;dur=1.250"
+    String toHeaderValue() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                value.append(", ");
+            }
+            value.append(names[i]).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos[i] / 1e6));
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.authtemplate.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Adds a {@code Server-Timing} header to requests that ask for it.
+ *
+ * <p>Only active when {@code auth.server-timing.enabled=true} and the request sends
+ * {@value #REQUEST_HEADER} with the configured token, so ordinary clients cannot see
+ * internal timings. Opted-in requests get a {@link ServerTiming} collector that the JWT
+ * filter and the auth service fill in ({@code jwt}, {@code user}, {@code hash},
+ * {@code mail}); a {@code total} entry is added when the response is committed.
+ * For all other requests the filter only compares a header and continues.</p>
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private static final String RESPONSE_HEADER = "Server-Timing";
+
+    // Shared secret expected in the request header; null when the feature is off
+    private final byte[] token;
+
+    public ServerTimingFilter(@Value("${auth.server-timing.enabled:false}") boolean enabled,
+                              @Value("${auth.server-timing.token:}") String token) {
+        this.token = enabled && !token.isBlank() ? token.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (token == null) {
+            return true;
+        }
+        String presented = request.getHeader(REQUEST_HEADER);
+        return presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        ServerTiming timing = ServerTiming.create();
+        request.setAttribute(ServerTiming.REQUEST_ATTRIBUTE, timing);
+
+        filterChain.doFilter(request, new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                timing.add("total", System.nanoTime() - start);
+                response.setHeader(RESPONSE_HEADER, timing.toHeaderValue());
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.authtemplate.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Optional cache of already-verified JWTs.
+ *
+ * <p>Clients reuse the same access token many times, so {@link JwtUtil} can skip the
+ * signature check and JSON parsing for a token it has already verified. The cache:</p>
+ * <ul>
+ *   <li>Is keyed by a SHA-256 digest of the compact token</li>
+ *   <li>Expires each entry at the token's own {@code exp}</li>
+ *   <li>Is capped by an approximate byte budget ({@code jwt.verified-cache.max-bytes})</li>
+ *   <li>Is a lock-striped concurrent Caffeine cache, so readers never serialize</li>
+ * </ul>
+ *
+ * <p>Disabled by default ({@code jwt.verified-cache.enabled=false}); in that case every
+ * call goes straight to the verifier.</p>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Cache name used for the exported metrics
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    // Rough per-entry overhead (digest key, record, cache node) added to the token size
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    // Null when the cache is disabled
+    private final Cache<String, ParsedToken> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.verified-cache.max-bytes:16777216}") long maxBytes,
+                              MeterRegistry meterRegistry) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, ParsedToken value) -> value.token().length() * 2 + ENTRY_OVERHEAD_BYTES)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    private VerifiedTokenCache() {
+        this.cache = null;
+    }
+
+    // A pass-through instance, for callers constructing JwtUtil outside the container
+    public static VerifiedTokenCache disabled() {
+        return new VerifiedTokenCache();
+    }
+
+    /**
+     * Return the cached verification result for a token, verifying it on a miss.
+     *
+     * <p>Failures are never cached: if the verifier throws, the exception propagates
+     * and nothing is stored.</p>
+     */
+    public ParsedToken get(String token, Function<String, ParsedToken> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    // Helper: SHA-256 of the compact token, Base64-encoded for use as a map key
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Expire each entry exactly when its token does
+    private static final class ExpireAtTokenExpiry implements Expiry<String, ParsedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, ParsedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0; // never cache tokens without an expiry
+            }
+            long remainingMs = value.expiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
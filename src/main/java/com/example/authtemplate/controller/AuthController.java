@@ -1,15 +1,24 @@
 package com.example.authtemplate.controller;
 
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.dto.IntrospectionRequest;
+import com.example.authtemplate.dto.IntrospectionResult;
 import com.example.authtemplate.dto.LoginRequest;
+import com.example.authtemplate.dto.RefreshRequest;
 import com.example.authtemplate.dto.RegisterRequest;
 import com.example.authtemplate.dto.AuthResponse;
 import com.example.authtemplate.service.AuthService;
+import com.example.authtemplate.service.RateLimitService;
+import com.example.authtemplate.service.TokenIntrospectionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for authentication endpoints.
  *
@@ -17,7 +26,9 @@ import org.springframework.web.bind.annotation.*;
  * <ul>
  *   <li>User registration</li>
  *   <li>User login (JWT issuance)</li>
+ *   <li>Access-token refresh and logout</li>
  *   <li>Email verification</li>
+ *   <li>Batch token introspection for internal services</li>
  * </ul>
  */
 @RestController
@@ -28,21 +39,55 @@ public class AuthController {
     // Authentication service for handling business logic
     private final AuthService authService;
 
+    // Per-account throttling (per-IP limits are applied by RateLimitFilter)
+    private final RateLimitService rateLimitService;
+
+    // Batch token checks for internal services
+    private final TokenIntrospectionService introspectionService;
+
     // Register a new user
     @Operation(summary = "Register a new user", description = "Registers a user with email and password")
     @ApiResponse(responseCode = "200", description = "User registered successfully")
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded, retry after the Retry-After delay")
+    @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry after the Retry-After delay")
     @PostMapping("/register")
-    public ResponseEntity<String> register(@RequestBody RegisterRequest request) {
-        authService.register(request);
-        return ResponseEntity.ok("User registered successfully");
+    public CompletableFuture<ResponseEntity<String>> register(@RequestBody RegisterRequest request) {
+        rateLimitService.checkAccount("register", request.getEmail());
+        return authService.register(request)
+                .thenApply(done -> ResponseEntity.ok("User registered successfully"));
     }
 
     // Authenticate a user and return a JWT
     @Operation(summary = "Login user", description = "Authenticates a user and returns JWT token")
     @ApiResponse(responseCode = "200", description = "Login successful, returns JWT")
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded, retry after the Retry-After delay")
+    @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry after the Retry-After delay")
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody LoginRequest request) {
-        return ResponseEntity.ok(authService.login(request));
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@RequestBody LoginRequest request) {
+        rateLimitService.checkAccount("login", request.getEmail());
+        return authService.login(request).thenApply(ResponseEntity::ok);
+    }
+
+    // Exchange a refresh token for a new access token
+    @Operation(summary = "Refresh access token", description = "Exchanges a refresh token for a new access token and a rotated refresh token")
+    @ApiResponse(responseCode = "200", description = "New tokens issued")
+    @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired, revoked or reused")
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    // Log out by revoking the current access token (and optionally the refresh token)
+    @Operation(summary = "Logout", description = "Revokes the current access token and, if supplied, its refresh token")
+    @ApiResponse(responseCode = "200", description = "Logged out")
+    @ApiResponse(responseCode = "401", description = "Missing, invalid or expired access token")
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(
+            @RequestHeader(name = "Authorization", required = false) String authHeader,
+            @RequestAttribute(name = ParsedToken.REQUEST_ATTRIBUTE, required = false) ParsedToken parsedToken,
+            @RequestBody(required = false) RefreshRequest request) {
+        authService.logout(authHeader, parsedToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok("Logged out successfully.");
     }
 
     // Verify the user account via token
@@ -56,8 +101,10 @@ public class AuthController {
 
     // Request password reset
     @Operation(summary = "Request password reset", description = "Sends a password reset email if the user exists")
+    @ApiResponse(responseCode = "429", description = "Rate limit exceeded, retry after the Retry-After delay")
     @PostMapping("/forgot-password")
     public ResponseEntity<String> forgotPassword(@RequestParam String email) {
+        rateLimitService.checkAccount("forgot-password", email);
         authService.forgotPassword(email);
         return ResponseEntity.ok("Password reset link sent to your email.");
     }
@@ -65,16 +112,32 @@ public class AuthController {
     // Reset password using token
     @Operation(summary = "Reset password", description = "Resets user password using a valid reset token")
     @PostMapping("/reset-password")
-    public ResponseEntity<String> resetPassword(@RequestParam String token, @RequestParam String newPassword) {
-        authService.resetPassword(token, newPassword);
-        return ResponseEntity.ok("Password reset successful.");
+    public CompletableFuture<ResponseEntity<String>> resetPassword(@RequestParam String token,
+                                                                   @RequestParam String newPassword) {
+        return authService.resetPassword(token, newPassword)
+                .thenApply(done -> ResponseEntity.ok("Password reset successful."));
+    }
+
+    // Check a batch of access tokens (internal services, shared-secret authenticated)
+    @Operation(summary = "Introspect tokens", description = "Returns active/sub/uid/roles/exp for each token, in request order")
+    @ApiResponse(responseCode = "200", description = "One result per token")
+    @ApiResponse(responseCode = "400", description = "Too many tokens in one request")
+    @ApiResponse(responseCode = "401", description = "Missing or invalid X-Introspection-Secret")
+    @PostMapping("/introspect")
+    public ResponseEntity<List<IntrospectionResult>> introspect(
+            @RequestHeader(name = "X-Introspection-Secret", required = false) String secret,
+            @RequestBody IntrospectionRequest request) {
+        introspectionService.authorize(secret);
+        return ResponseEntity.ok(introspectionService.introspect(request.getTokens()));
     }
 
     // Get a current authenticated user
     @Operation(summary = "Get current user", description = "Returns details of the authenticated user from JWT")
     @ApiResponse(responseCode = "200", description = "User details returned successfully")
     @GetMapping("/me")
-    public ResponseEntity<AuthResponse> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
-        return ResponseEntity.ok(authService.getCurrentUser(authHeader));
+    public ResponseEntity<AuthResponse> getCurrentUser(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestAttribute(name = ParsedToken.REQUEST_ATTRIBUTE, required = false) ParsedToken parsedToken) {
+        return ResponseEntity.ok(authService.getCurrentUser(authHeader, parsedToken));
     }
 }
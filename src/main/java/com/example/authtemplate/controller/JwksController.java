@@ -0,0 +1,43 @@
+package com.example.authtemplate.controller;
+
+import com.example.authtemplate.config.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the access-token verification keys as a JWK Set.
+ *
+ * <p>Other services fetch {@code /.well-known/jwks.json}, cache it for the advertised
+ * max-age and verify tokens locally by {@code kid}, without calling back to this service.</p>
+ */
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtKeyRing keyRing,
+                          @Value("${jwt.jwks.max-age-s:300}") long maxAgeSeconds) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    // Public keys of the active and still-accepted signing keys
+    @GetMapping(value = "/.well-known/jwks.json", produces = "application/jwk-set+json")
+    @Operation(summary = "JWK Set", description = "Public keys for verifying access tokens by kid")
+    @ApiResponse(responseCode = "200", description = "JWK Set returned")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(keyRing.jwks());
+    }
+}
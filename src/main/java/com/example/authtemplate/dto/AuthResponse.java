@@ -1,5 +1,6 @@
 package com.example.authtemplate.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,7 +8,8 @@ import lombok.Data;
  * Data Transfer Object (DTO) for authentication responses.
  *
  * <p>This object is returned to the client after a successful login or registration
- * and contains the generated JWT access token along with basic user details.</p>
+ * and contains the generated JWT access token along with basic user details.
+ * Login and refresh responses also carry a refresh token.</p>
  */
 @Data
 @AllArgsConstructor
@@ -27,4 +29,12 @@ public class AuthResponse {
 
     // Role of the authenticated user
     private String role;
+
+    // Refresh token for /api/auth/refresh (only present on login and refresh responses)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
+
+    public AuthResponse(String accessToken, Long userId, String name, String email, String role) {
+        this(accessToken, userId, name, email, role, null);
+    }
 }
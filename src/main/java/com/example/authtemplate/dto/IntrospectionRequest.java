@@ -0,0 +1,17 @@
+package com.example.authtemplate.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for batch token introspection requests.
+ *
+ * <p>Sent by internal services to check many access tokens in one call.</p>
+ */
+@Data
+public class IntrospectionRequest {
+
+    // Access tokens to check (without the "Bearer " prefix)
+    private List<String> tokens;
+}
@@ -0,0 +1,44 @@
+package com.example.authtemplate.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the introspection result of one token.
+ *
+ * <p>Modelled on RFC 7662: inactive tokens carry only {@code active=false}, whatever
+ * the reason (invalid, expired, revoked, unknown or disabled user).</p>
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResult {
+
+    private static final IntrospectionResult INACTIVE = new IntrospectionResult(false, null, null, null, null);
+
+    // Whether the token is currently valid for its user
+    private boolean active;
+
+    // Subject (user email)
+    @JsonProperty("sub")
+    private String subject;
+
+    // User id
+    @JsonProperty("uid")
+    private Long userId;
+
+    // Current roles of the user
+    private List<String> roles;
+
+    // Expiry, seconds since the epoch
+    @JsonProperty("exp")
+    private Long expiresAt;
+
+    public static IntrospectionResult inactive() {
+        return INACTIVE;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.authtemplate.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for refresh requests.
+ *
+ * <p>The client uses this object to exchange a refresh token
+ * for a new access token.</p>
+ */
+@Data
+public class RefreshRequest {
+
+    // Refresh token previously issued by login or refresh
+    private String refreshToken;
+}
@@ -0,0 +1,75 @@
+package com.example.authtemplate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an email queued for delivery.
+ *
+ * <p>Rows are written in the same transaction as the user or token they relate to
+ * and drained in batches by the outbox dispatcher. Each record contains:</p>
+ * <ul>
+ *   <li>Recipient, subject and plain-text body</li>
+ *   <li>Delivery status and the number of attempts made</li>
+ *   <li>The time of the next attempt (also used as a claim lease)</li>
+ * </ul>
+ */
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailOutboxMessage {
+
+    // Primary key (pooled sequence, see IdGeneration)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    // Recipient address
+    @Column(nullable = false)
+    private String recipient;
+
+    // Subject line
+    @Column(nullable = false)
+    private String subject;
+
+    // Plain-text body (cleared once sent)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    // Delivery state
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Builder.Default
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    // Number of delivery attempts made so far
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    // Earliest time the dispatcher may (re)try this message; for sent and dead messages, the end
+    // of the last attempt's lease (used by the retention purge)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Error from the last failed attempt, truncated
+    @Column(length = 1000)
+    private String lastError;
+
+    // Time the message was queued
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Time the message was accepted by the mail server
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,16 @@
+package com.example.authtemplate.entity;
+
+/**
+ * Delivery state of an {@link EmailOutboxMessage}.
+ */
+public enum EmailOutboxStatus {
+
+    /** Waiting to be sent (or retried) by the dispatcher */
+    PENDING,
+
+    /** Accepted by the mail server */
+    SENT,
+
+    /** Gave up after the maximum number of attempts */
+    DEAD
+}
@@ -0,0 +1,31 @@
+package com.example.authtemplate.entity;
+
+import java.util.Map;
+
+/**
+ * Id generation settings shared by the entities on pooled sequences.
+ *
+ * <p>{@link User} and {@link EmailOutboxMessage} take their ids from pooled-lo sequences instead of
+ * {@code IDENTITY} columns:</p>
+ * <ul>
+ *   <li>One sequence round trip reserves {@link #ALLOCATION_SIZE} ids, so inserts need no
+ *       generated-key read and Hibernate can batch them</li>
+ *   <li>On MySQL each sequence is a one-row table ({@code <table>_seq}, column {@code next_val})</li>
+ *   <li>Ids stay increasing, and {@code IdSequenceAligner} moves each sequence past the
+ *       highest existing id at startup, so ids issued under {@code IDENTITY} remain valid</li>
+ * </ul>
+ */
+public final class IdGeneration {
+
+    // Ids reserved per sequence round trip (matches hibernate.jdbc.batch_size)
+    public static final int ALLOCATION_SIZE = 50;
+
+    // Sequence name -> table whose ids it generates
+    public static final Map<String, String> SEQUENCES = Map.of(
+            "users_seq", "users",
+            "email_outbox_seq", "email_outbox"
+    );
+
+    private IdGeneration() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.authtemplate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a stored one-time token (email verification or password reset).
+ *
+ * <p>Each token record contains:</p>
+ * <ul>
+ *   <li>A 128-bit key derived from the purpose and the raw token (the raw token itself is never stored)</li>
+ *   <li>The purpose discriminator</li>
+ *   <li>The owning user's id</li>
+ *   <li>Expiry date-time (indexed for the expired-token purge)</li>
+ * </ul>
+ *
+ * <p>The key is a {@link UUID}, stored as {@code BINARY(16)} on MySQL, so lookups compare
+ * 16 bytes instead of a 36-character string.</p>
+ */
+@Entity
+@Table(
+        name = "one_time_tokens",
+        indexes = {
+                @Index(name = "idx_one_time_tokens_expiry", columnList = "expires_at"),
+                @Index(name = "idx_one_time_tokens_user", columnList = "user_id")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OneTimeToken {
+
+    // Truncated SHA-256 of purpose and raw token
+    @Id
+    @Column(name = "token_key")
+    private UUID tokenKey;
+
+    // What the token may be used for
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TokenPurpose purpose;
+
+    // Owning user (plain id: redeeming a token never needs the user row)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Expiration date and time of the token
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
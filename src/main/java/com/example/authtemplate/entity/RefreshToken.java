@@ -0,0 +1,68 @@
+package com.example.authtemplate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a rotating refresh token.
+ *
+ * <p>Each token record contains:</p>
+ * <ul>
+ *   <li>SHA-256 hash of the token (the raw value is never stored)</li>
+ *   <li>Associated user</li>
+ *   <li>Family id shared by every token rotated from the same login</li>
+ *   <li>Expiry, use and revocation times</li>
+ * </ul>
+ *
+ * <p>A token may be exchanged once; presenting a used token again revokes its whole family.</p>
+ */
+@Entity
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expiry", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    // Primary key (auto-generated)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hex SHA-256 of the raw token; unique, so lookups are a single index probe
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Associated user
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Rotation family (one per login)
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // Expiration date and time of the token
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Time the token was issued
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Time the token was exchanged for a new one (null while unused)
+    private LocalDateTime usedAt;
+
+    // Time the token was revoked (null while valid)
+    private LocalDateTime revokedAt;
+}
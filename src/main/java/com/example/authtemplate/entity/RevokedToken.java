@@ -0,0 +1,45 @@
+package com.example.authtemplate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a revoked access token (denylist entry).
+ *
+ * <p>Each record contains:</p>
+ * <ul>
+ *   <li>The token's {@code jti}</li>
+ *   <li>The token's own expiry, after which the entry can be purged</li>
+ *   <li>The revocation time, used by other nodes to pick up new entries incrementally</li>
+ * </ul>
+ */
+@Entity
+@Table(
+        name = "revoked_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_tokens_expiry", columnList = "expires_at"),
+                @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    // Token identifier (jti claim)
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    // Expiry of the revoked token
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Time the token was revoked
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
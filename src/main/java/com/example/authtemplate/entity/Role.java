@@ -1,16 +1,44 @@
 package com.example.authtemplate.entity;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Enumeration of user roles within the system.
  *
  * <p>Each user is assigned exactly one role, which determines
  * their level of access and permissions in the application.</p>
+ *
+ * <p>Compact access tokens encode roles as a bitmask of {@link #bit()}; bits are part of
+ * the token format, so existing values must never change or be reused.</p>
  */
 public enum Role {
 
     /** Standard user with limited access */
-    ROLE_USER,
+    ROLE_USER(1),
 
     /** Administrator with full system privileges */
-    ROLE_ADMIN
+    ROLE_ADMIN(1 << 1);
+
+    private final int bit;
+
+    Role(int bit) {
+        this.bit = bit;
+    }
+
+    // Bit of this role in a compact-token role mask
+    public int bit() {
+        return bit;
+    }
+
+    // Role names contained in a compact-token role mask (unknown bits are ignored)
+    public static List<String> namesOf(int mask) {
+        List<String> names = new ArrayList<>(1);
+        for (Role role : values()) {
+            if ((mask & role.bit) != 0) {
+                names.add(role.name());
+            }
+        }
+        return names;
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.authtemplate.entity;
+
+/**
+ * What a one-time token (stored or signed link) may be used for.
+ *
+ * <p>The code is part of the signed-link format and of stored token keys, so existing
+ * values must never change or be reused.</p>
+ */
+public enum TokenPurpose {
+
+    /** Activates a newly registered account */
+    EMAIL_VERIFICATION(1),
+
+    /** Sets a new password */
+    PASSWORD_RESET(2);
+
+    private final byte code;
+
+    TokenPurpose(int code) {
+        this.code = (byte) code;
+    }
+
+    // Stable one-byte discriminator
+    public byte code() {
+        return code;
+    }
+}
@@ -4,6 +4,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.time.LocalDateTime;
 
 /**
  * Entity representing a system user.
@@ -18,11 +25,16 @@ import lombok.*;
  *
  * <p>Each user has exactly one role and an active status flag
  * to control login availability.</p>
+ *
+ * <p>Email is the (immutable) natural id. Users and their email-to-id resolutions are kept
+ * in the second-level cache regions {@value #CACHE_REGION} and {@value #NATURAL_ID_CACHE_REGION};
+ * Hibernate updates them on entity writes and evicts them on bulk updates and deletes.</p>
  */
 @Entity
 @Table(
         name = "users",
-        uniqueConstraints = @UniqueConstraint(columnNames = "email")
+        uniqueConstraints = @UniqueConstraint(columnNames = "email"),
+        indexes = @Index(name = "idx_users_enabled_created", columnList = "enabled, created_at")
 )
 @Getter
 @Setter
@@ -30,11 +42,18 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @ToString(exclude = "password") // avoid exposing sensitive info
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 public class User {
 
-    // Primary key (auto-generated)
+    public static final String CACHE_REGION = "users";
+
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-email";
+
+    // Primary key (pooled sequence, see IdGeneration)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     // Full name of the user
@@ -45,6 +64,7 @@ public class User {
     // Unique email address of the user
     @Email(message = "Email should be valid")
     @NotBlank(message = "Email cannot be blank")
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -62,4 +82,9 @@ public class User {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private Role role;
+
+    // Time the account was created (null for accounts created before this column existed)
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
 }
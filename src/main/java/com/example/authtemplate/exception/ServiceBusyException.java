@@ -0,0 +1,16 @@
+package com.example.authtemplate.exception;
+
+public class ServiceBusyException extends RuntimeException {
+
+    // Seconds the client should wait before retrying
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.EmailOutboxMessage;
+import com.example.authtemplate.entity.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for {@link EmailOutboxMessage} entity.
+ *
+ * <p>Provides methods for:</p>
+ * <ul>
+ *   <li>Claiming a batch of due messages without blocking other dispatchers</li>
+ *   <li>Finding sent and dead-lettered messages past their retention, in bounded batches</li>
+ * </ul>
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Lock due messages, skipping rows already locked by another node (SELECT ... FOR UPDATE SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from EmailOutboxMessage m " +
+            "where m.status = :status and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("status") EmailOutboxStatus status,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    // Ids of messages in the given (terminal) states last attempted before the cutoff, oldest
+    // first (served by the status, next_attempt_at index)
+    @Query("select m.id from EmailOutboxMessage m " +
+            "where m.status in :statuses and m.nextAttemptAt < :cutoff order by m.nextAttemptAt")
+    List<Long> findIdsInStatusAttemptedBefore(@Param("statuses") Collection<EmailOutboxStatus> statuses,
+                                              @Param("cutoff") LocalDateTime cutoff,
+                                              Pageable pageable);
+}
@@ -0,0 +1,45 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.OneTimeToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for {@link OneTimeToken} entity.
+ *
+ * <p>Provides methods for:</p>
+ * <ul>
+ *   <li>Deleting a token by key, reporting whether it was still there</li>
+ *   <li>Purging expired tokens in bounded batches</li>
+ *   <li>Deleting the tokens of removed users</li>
+ * </ul>
+ */
+@Repository
+public interface OneTimeTokenRepository extends JpaRepository<OneTimeToken, UUID> {
+
+    // Delete a token by key; 0 if it was already gone (consumed concurrently)
+    @Transactional
+    @Modifying
+    @Query("delete from OneTimeToken t where t.tokenKey = :key")
+    int deleteByKey(@Param("key") UUID key);
+
+    // Keys of tokens that expired before the cutoff, oldest first (served by the expires_at index)
+    @Query("select t.tokenKey from OneTimeToken t where t.expiresAt < :cutoff order by t.expiresAt")
+    List<UUID> findExpiredKeys(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Delete all tokens belonging to the given users
+    @Transactional
+    @Modifying
+    @Query("delete from OneTimeToken t where t.userId in :userIds")
+    int deleteByUserIdIn(@Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,55 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link RefreshToken} entity.
+ *
+ * <p>Provides methods for:</p>
+ * <ul>
+ *   <li>Finding (and locking) a token by its hash</li>
+ *   <li>Revoking a token family or all tokens of a user</li>
+ *   <li>Purging expired tokens in bounded batches</li>
+ * </ul>
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    // Find a token by hash, locking the row so it cannot be exchanged twice concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from RefreshToken t where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    // Rotation family of a token, without loading the token entity
+    @Query("select t.familyId from RefreshToken t where t.tokenHash = :tokenHash")
+    Optional<String> findFamilyIdByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Revoke every still-valid token in a rotation family
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    // Revoke every still-valid token of a user
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :now where t.user.id = :userId and t.revokedAt is null")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Ids of tokens that expired before the cutoff, oldest first
+    @Query("select t.id from RefreshToken t where t.expiresAt < :cutoff order by t.expiresAt")
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.RevokedToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for {@link RevokedToken} entity.
+ *
+ * <p>Provides methods for:</p>
+ * <ul>
+ *   <li>Loading the ids of revoked, still-unexpired tokens</li>
+ *   <li>Loading entries revoked since a point in time</li>
+ *   <li>Purging expired entries in bounded batches</li>
+ * </ul>
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Exact revocation check; read-write so it always hits the primary (a replica may lag a logout)
+    @Override
+    @Transactional
+    boolean existsById(String jti);
+
+    // Ids of revoked tokens that have not expired yet
+    @Query("select t.jti from RevokedToken t where t.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") LocalDateTime now);
+
+    // Ids of tokens revoked after the given time
+    @Query("select t.jti from RevokedToken t where t.revokedAt > :since")
+    List<String> findJtisRevokedAfter(@Param("since") LocalDateTime since);
+
+    // Ids of entries whose token expired before the cutoff, oldest first
+    @Query("select t.jti from RevokedToken t where t.expiresAt < :cutoff order by t.expiresAt")
+    List<String> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
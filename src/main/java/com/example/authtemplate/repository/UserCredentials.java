@@ -0,0 +1,33 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+
+/**
+ * Read-only view of the {@link User} columns needed to authenticate.
+ *
+ * <p>Returned by {@link UserNaturalIdRepository#findCredentialsByEmail(String)} for login,
+ * {@code /me} and the JWT filter. It is a plain immutable value: it is never managed by
+ * a persistence context, so it has no dirty-checking snapshot and is safe to cache and
+ * share between threads.</p>
+ *
+ * @param id       user id
+ * @param name     display name
+ * @param email    email (natural id)
+ * @param password password hash
+ * @param role     assigned role
+ * @param enabled  whether the email has been verified
+ */
+public record UserCredentials(Long id,
+                              String name,
+                              String email,
+                              String password,
+                              Role role,
+                              boolean enabled) {
+
+    // Copy the authentication columns of a loaded user
+    public static UserCredentials of(User user) {
+        return new UserCredentials(user.getId(), user.getName(), user.getEmail(),
+                user.getPassword(), user.getRole(), user.isEnabled());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Natural-id access to {@link User}, mixed into {@link UserRepository}.
+ *
+ * <p>Email is the natural id of a user, so lookups by email go through Hibernate's
+ * natural-id API and are served from the second-level cache when the user is cached
+ * (no SQL at all), instead of running a JPQL query every time.</p>
+ *
+ * <p>Authentication paths use {@link #findCredentialsByEmail(String)}: the lookup runs in a
+ * read-only session (no dirty-checking snapshot, no flush) and only the immutable
+ * {@link UserCredentials} leaves it.</p>
+ */
+public interface UserNaturalIdRepository {
+
+    // Find a user by email (read-only: served by the second-level cache, else a replica outside write transactions)
+    @Transactional(readOnly = true)
+    Optional<User> findByEmail(String email);
+
+    // Authentication columns of a user by email, detached from any persistence context
+    @Transactional(readOnly = true)
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+
+    // Authentication columns of a user by id (second-level cached), detached from any persistence context
+    @Transactional(readOnly = true)
+    Optional<UserCredentials> findCredentialsById(Long id);
+
+    // Drop a user's entry from the second-level cache
+    void evictFromSecondLevelCache(Long id);
+}
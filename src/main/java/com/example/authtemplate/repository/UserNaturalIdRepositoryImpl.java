@@ -0,0 +1,39 @@
+package com.example.authtemplate.repository;
+
+import com.example.authtemplate.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Hibernate implementation of {@link UserNaturalIdRepository}.
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+
+    @Override
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        return findByEmail(email).map(UserCredentials::of);
+    }
+
+    @Override
+    public Optional<UserCredentials> findCredentialsById(Long id) {
+        return Optional.ofNullable(entityManager.find(User.class, id)).map(UserCredentials::of);
+    }
+
+    @Override
+    public void evictFromSecondLevelCache(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(User.class, id);
+    }
+}
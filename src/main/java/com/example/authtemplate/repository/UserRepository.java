@@ -1,23 +1,53 @@
 package com.example.authtemplate.repository;
 
 import com.example.authtemplate.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for {@link User} entity.
  *
  * <p>Provides built-in CRUD operations through {@link JpaRepository}
- * and custom query methods for authentication use cases.</p>
+ * and custom query methods for authentication use cases. Lookups by email come from
+ * {@link UserNaturalIdRepository} (natural id, second-level cached).</p>
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    // Find a user by email
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     // Check if a user with the given email exists
+    @Transactional(readOnly = true)
     boolean existsByEmail(String email);
+
+    // Authentication columns of every user with one of the given emails, in one IN query
+    @Transactional(readOnly = true)
+    @Query("select new com.example.authtemplate.repository.UserCredentials(u.id, u.name, u.email, u.password, u.role, u.enabled)"
+            + " from User u where u.email in :emails")
+    List<UserCredentials> findCredentialsByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Authentication columns of all users with the given ids, in one query
+    @Transactional(readOnly = true)
+    @Query("select new com.example.authtemplate.repository.UserCredentials(u.id, u.name, u.email, u.password, u.role, u.enabled)"
+            + " from User u where u.id in :ids")
+    List<UserCredentials> findCredentialsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Ids of accounts never verified and created before the cutoff
+    @Query("select u.id from User u where u.enabled = false and u.createdAt < :cutoff order by u.createdAt")
+    List<Long> findUnverifiedIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Load a user with its row locked, for compare-and-set updates; changes go through the managed
+    // entity, so only this user's second-level cache entry is updated (a bulk update would evict the region)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
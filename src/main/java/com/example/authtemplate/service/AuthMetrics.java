@@ -0,0 +1,103 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.exception.InvalidCredentialsException;
+import com.example.authtemplate.exception.RateLimitExceededException;
+import com.example.authtemplate.exception.ServiceBusyException;
+import com.example.authtemplate.exception.UserAlreadyExistsException;
+import com.example.authtemplate.exception.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Metrics and structured events for the auth flows.
+ *
+ * <p>Records:</p>
+ * <ul>
+ *   <li>{@code auth.failures{operation,reason}}: one count per rejected request, with a
+ *       matching {@code auth_failure} log line carrying the same fields</li>
+ *   <li>{@code auth.operation{operation,outcome}}: end-to-end latency of each flow,
+ *       including time spent queued for BCrypt</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Count a rejected request and return the exception to throw.
+     *
+     * @param operation flow name, e.g. {@code login}
+     * @param reason    low-cardinality reason, e.g. {@code invalid_password}
+     */
+    public <E extends RuntimeException> E failure(String operation, String reason, E exception) {
+        meterRegistry.counter("auth.failures", "operation", operation, "reason", reason).increment();
+        log.info("auth_failure operation={} reason={}", operation, reason);
+        return exception;
+    }
+
+    // Time a synchronous flow, tagging the outcome from the exception (if any)
+    public <T> T time(String operation, Supplier<T> flow) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = flow.get();
+            stop(sample, operation, null);
+            return result;
+        } catch (RuntimeException e) {
+            stop(sample, operation, e);
+            throw e;
+        }
+    }
+
+    // Time an asynchronous flow until its future completes
+    public <T> CompletableFuture<T> timeAsync(String operation, Supplier<CompletableFuture<T>> flow) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return flow.get().whenComplete((result, error) -> stop(sample, operation, error));
+        } catch (RuntimeException e) {
+            stop(sample, operation, e);
+            throw e;
+        }
+    }
+
+    private void stop(Timer.Sample sample, String operation, Throwable error) {
+        sample.stop(Timer.builder("auth.operation")
+                .tag("operation", operation)
+                .tag("outcome", outcome(error))
+                .register(meterRegistry));
+    }
+
+    // Helper: map an exception to a bounded set of outcome tags
+    private static String outcome(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error == null) {
+            return "success";
+        }
+        if (error instanceof InvalidCredentialsException) {
+            return "rejected";
+        }
+        if (error instanceof UserNotFoundException) {
+            return "not_found";
+        }
+        if (error instanceof UserAlreadyExistsException) {
+            return "conflict";
+        }
+        if (error instanceof ServiceBusyException || error instanceof RateLimitExceededException) {
+            return "busy";
+        }
+        return "error";
+    }
+}
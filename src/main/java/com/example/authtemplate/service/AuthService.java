@@ -1,26 +1,30 @@
 package com.example.authtemplate.service;
 
+import com.example.authtemplate.config.AuthenticatedUser;
 import com.example.authtemplate.config.JwtUtil;
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.config.ServerTiming;
 import com.example.authtemplate.dto.AuthResponse;
 import com.example.authtemplate.dto.LoginRequest;
 import com.example.authtemplate.dto.RegisterRequest;
-import com.example.authtemplate.entity.PasswordResetToken;
 import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.TokenPurpose;
 import com.example.authtemplate.entity.User;
-import com.example.authtemplate.entity.VerificationToken;
 import com.example.authtemplate.exception.InvalidCredentialsException;
+import com.example.authtemplate.exception.ServiceBusyException;
 import com.example.authtemplate.exception.UserAlreadyExistsException;
 import com.example.authtemplate.exception.UserNotFoundException;
-import com.example.authtemplate.repository.PasswordResetTokenRepository;
+import com.example.authtemplate.repository.UserCredentials;
 import com.example.authtemplate.repository.UserRepository;
-import com.example.authtemplate.repository.VerificationTokenRepository;
+import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service layer for handling authentication operations.
@@ -32,7 +36,15 @@ import java.util.UUID;
  *   <li>Blocking login until email is verified</li>
  *   <li>Issuing JWT tokens upon successful authentication</li>
  * </ul>
+ *
+ * <p>Flows that hash a password return a {@link CompletableFuture}, so the request
+ * thread is released while BCrypt runs on {@link PasswordHashingService}'s pool.</p>
+ *
+ * <p>Verification and reset links are either tokens kept in the {@link OneTimeTokenStore} or, with
+ * {@code auth.signed-links.enabled=true}, {@link SignedLinkService} links that need no
+ * token-table reads or writes. Both kinds are accepted whichever is being issued.</p>
  */
+@Slf4j
 @Service
 @AllArgsConstructor
 public class AuthService {
@@ -40,14 +52,14 @@ public class AuthService {
     // Repository for accessing and persisting user data
     private final UserRepository userRepository;
 
-    // Repository for verification token storage
-    private final VerificationTokenRepository verificationTokenRepository;
+    // Stored verification and password-reset tokens
+    private final OneTimeTokenStore oneTimeTokenStore;
 
-    // Repository for password-reset tokens
-    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    // Hashes and verifies passwords on a dedicated bounded pool
+    private final PasswordHashingService passwordHashingService;
 
-    // Password encoder for hashing and verifying passwords
-    private final PasswordEncoder passwordEncoder;
+    // Runs the write step of flows that hash a password first
+    private final TransactionTemplate transactionTemplate;
 
     // Utility for generating and validating JWT tokens
     private final JwtUtil jwtUtil;
@@ -55,168 +67,433 @@ public class AuthService {
     // Service for sending emails
     private final EmailService emailService;
 
-    // Register a new user (inactive until email verification)
-    @Transactional
-    public void register(RegisterRequest request) {
+    // Cache of principals resolved by the JWT filter
+    private final UserPrincipalCache principalCache;
+
+    // Issues and rotates refresh tokens
+    private final RefreshTokenService refreshTokenService;
+
+    // Denylist for logged-out access tokens
+    private final TokenRevocationService revocationService;
+
+    // Failure counters and per-flow timers
+    private final AuthMetrics authMetrics;
+
+    // Issues and checks stateless verification and reset links
+    private final SignedLinkService signedLinkService;
+
+    // Register a new user (inactive until email verification); completes once the user is saved
+    public CompletableFuture<Void> register(RegisterRequest request) {
+        return authMetrics.timeAsync("register", () -> {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw authMetrics.failure("register", "already_registered",
+                        new UserAlreadyExistsException("Email already registered: " + request.getEmail()));
+            }
+
+            // Hash off the request thread, then save user, token and email in one transaction
+            ServerTiming timing = ServerTiming.current();
+            long hashStart = timing.start();
+            return passwordHashingService.encode(request.getPassword())
+                    .thenAccept(hash -> {
+                        timing.record("hash", hashStart);
+                        transactionTemplate.executeWithoutResult(status -> createUnverifiedUser(request, hash, timing));
+                    });
+        });
+    }
+
+    // Helper: persist a disabled user, its verification token and the verification email
+    private void createUnverifiedUser(RegisterRequest request, String passwordHash, ServerTiming timing) {
         if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("Email already registered: " + request.getEmail());
+            throw authMetrics.failure("register", "already_registered",
+                    new UserAlreadyExistsException("Email already registered: " + request.getEmail()));
         }
 
         // Save user (disabled by default)
         User user = User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHash)
                 .enabled(false)
                 .role(Role.ROLE_USER)
                 .build();
         userRepository.save(user);
 
-        // Save a verification token
-        String token = UUID.randomUUID().toString();
-        VerificationToken verificationToken = VerificationToken.builder()
-                .token(token)
-                .user(user)
-                .expiryDate(LocalDateTime.now().plusHours(24))
-                .build();
-        verificationTokenRepository.save(verificationToken);
+        // Sign a verification link, or store a verification token
+        String token = signedLinkService.isEnabled()
+                ? signedLinkService.issue(TokenPurpose.EMAIL_VERIFICATION, user.getId(),
+                        verificationState(user), Duration.ofHours(24))
+                : oneTimeTokenStore.issue(TokenPurpose.EMAIL_VERIFICATION, user.getId(), Duration.ofHours(24));
 
-        // ---- Transaction ends here if the commit succeeds ----
+        // Queue the verification email in the same transaction; the outbox dispatcher sends it
+        String link = "http://localhost:8080/api/auth/verify?token=" + token;
+        long mailStart = timing.start();
+        emailService.enqueue(
+                user.getEmail(),
+                "Verify your account",
+                "Hello " + user.getName() + ",\n\n" +
+                        "Please verify your account by clicking the link below:\n" +
+                        link + "\n\nThis link will expire in 24 hours."
+        );
+        timing.record("mail", mailStart);
+    }
 
-        // Send email outside transaction
-        try {
-            String link = "http://localhost:8080/api/auth/verify?token=" + token;
-            emailService.sendEmail(
-                    user.getEmail(),
-                    "Verify your account",
-                    "Hello " + user.getName() + ",\n\n" +
-                            "Please verify your account by clicking the link below:\n" +
-                            link + "\n\nThis link will expire in 24 hours."
-            );
-        } catch (Exception e) {
-            System.err.println("⚠️ Failed to send email: " + e.getMessage());
-            // Optionally log to monitoring but do NOT roll back
-        }
+    // Authenticate user and return JWT with user details; the password check runs off the request thread
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        return authMetrics.timeAsync("login", () -> authenticate(request));
     }
 
-    // Authenticate user and return JWT with user details
-    public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + request.getEmail()));
+    // Helper: the login flow itself
+    private CompletableFuture<AuthResponse> authenticate(LoginRequest request) {
+        ServerTiming timing = ServerTiming.current();
+        long lookupStart = timing.start();
+        UserCredentials user = userRepository.findCredentialsByEmail(request.getEmail())
+                .orElseThrow(() -> authMetrics.failure("login", "user_not_found",
+                        new UserNotFoundException("User not found with email: " + request.getEmail())));
+        timing.record("user", lookupStart);
 
         // Block login if isn't verified
-        if (!user.isEnabled()) {
-            throw new InvalidCredentialsException("Please verify your email before logging in");
+        if (!user.enabled()) {
+            throw authMetrics.failure("login", "unverified",
+                    new InvalidCredentialsException("Please verify your email before logging in"));
         }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new InvalidCredentialsException("Invalid password for email: " + request.getEmail());
-        }
+        long hashStart = timing.start();
+        return passwordHashingService.matches(request.getPassword(), user.password())
+                .thenApply(matches -> {
+                    timing.record("hash", hashStart);
+                    if (!matches) {
+                        throw authMetrics.failure("login", "invalid_password",
+                                new InvalidCredentialsException("Invalid password for email: " + request.getEmail()));
+                    }
+
+                    rehashIfOutdated(user, request.getPassword());
+                    String token = jwtUtil.generateToken(user);
+
+                    return new AuthResponse(
+                            token,
+                            user.id(),
+                            user.name(),
+                            user.email(),
+                            user.role().name(),
+                            refreshTokenService.issue(user.id())
+                    );
+                });
+    }
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+    // Exchange a refresh token for a new access token (and rotated refresh token); no password hashing
+    public AuthResponse refresh(String refreshToken) {
+        return authMetrics.time("refresh", () -> {
+            if (refreshToken == null || refreshToken.isBlank()) {
+                throw authMetrics.failure("refresh", "missing_token",
+                        new InvalidCredentialsException("Missing refresh token"));
+            }
+
+            RefreshTokenService.Rotation rotation;
+            try {
+                rotation = refreshTokenService.rotate(refreshToken);
+            } catch (InvalidCredentialsException e) {
+                throw authMetrics.failure("refresh", "invalid_refresh_token", e);
+            }
+            User user = rotation.user();
+
+            return new AuthResponse(
+                    jwtUtil.generateToken(user),
+                    user.getId(),
+                    user.getName(),
+                    user.getEmail(),
+                    user.getRole().name(),
+                    rotation.refreshToken()
+            );
+        });
+    }
 
-        return new AuthResponse(
-                token,
-                user.getId(),
-                user.getName(),
-                user.getEmail(),
-                user.getRole().name()
-        );
+    // Helper: after a successful login, re-hash a password stored with an older cost or format.
+    // Runs in the background and never fails the login; a busy pool just defers it to the next login.
+    private void rehashIfOutdated(UserCredentials user, String rawPassword) {
+        String oldHash = user.password();
+        if (!passwordHashingService.needsUpgrade(oldHash)) {
+            return;
+        }
+        try {
+            passwordHashingService.encode(rawPassword)
+                    .thenAccept(newHash -> {
+                        Boolean replaced = transactionTemplate.execute(
+                                status -> replacePasswordIfUnchanged(user.id(), oldHash, newHash));
+                        if (Boolean.TRUE.equals(replaced)) {
+                            principalCache.invalidate(user.id(), user.email());
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Password rehash failed for user {}: {}", user.id(), e.getMessage());
+                        return null;
+                    });
+        } catch (ServiceBusyException e) {
+            log.debug("Skipping password rehash for user {}: hashing pool busy", user.id());
+        }
     }
 
     // Verify a user's email using the token
     @Transactional
     public String verifyUser(String token) {
-        VerificationToken verificationToken = verificationTokenRepository.findByToken(token)
-                .orElseThrow(() -> new InvalidCredentialsException("❌ Invalid verification token"));
+        if (SignedLinkService.isSignedLink(token)) {
+            return verifySignedLink(token);
+        }
+
+        // Consume the token first so it can't be reused
+        OneTimeTokenStore.Entry entry = oneTimeTokenStore.consume(TokenPurpose.EMAIL_VERIFICATION, token)
+                .orElseThrow(() -> authMetrics.failure("verify", "invalid_token",
+                        new InvalidCredentialsException("❌ Invalid verification token")));
 
-        if (verificationToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new InvalidCredentialsException("❌ Verification token expired");
+        if (entry.isExpired()) {
+            throw authMetrics.failure("verify", "expired_token",
+                    new InvalidCredentialsException("❌ Verification token expired"));
         }
 
-        User user = verificationToken.getUser();
+        User user = userRepository.findById(entry.userId())
+                .orElseThrow(() -> authMetrics.failure("verify", "invalid_token",
+                        new InvalidCredentialsException("❌ Invalid verification token")));
         user.setEnabled(true); // activate an account
         userRepository.save(user);
+        principalCache.invalidateAfterCommit(user.getId(), user.getEmail());
 
-        // Clean up token so it can't be reused
-        verificationTokenRepository.delete(verificationToken);
+        return "✅ Email verified successfully! You can now log in.";
+    }
+
+    // Helper: verify with a signed link; it stops matching once the account is enabled
+    private String verifySignedLink(String token) {
+        SignedLinkService.SignedLink link = signedLinkService.parse(TokenPurpose.EMAIL_VERIFICATION, token)
+                .orElseThrow(() -> authMetrics.failure("verify", "invalid_token",
+                        new InvalidCredentialsException("❌ Invalid verification token")));
+
+        if (link.isExpired()) {
+            throw authMetrics.failure("verify", "expired_token",
+                    new InvalidCredentialsException("❌ Verification token expired"));
+        }
+
+        User user = userRepository.findById(link.userId())
+                .orElseThrow(() -> authMetrics.failure("verify", "invalid_token",
+                        new InvalidCredentialsException("❌ Invalid verification token")));
+        if (!signedLinkService.matches(link, verificationState(user))) {
+            throw authMetrics.failure("verify", "token_consumed",
+                    new InvalidCredentialsException("❌ Invalid verification token"));
+        }
+
+        user.setEnabled(true); // activate an account
+        userRepository.save(user);
+        principalCache.invalidateAfterCommit(user.getId(), user.getEmail());
 
         return "✅ Email verified successfully! You can now log in.";
     }
 
+    // Helper: user state a verification link is bound to
+    private static String verificationState(User user) {
+        return "enabled=" + user.isEnabled();
+    }
+
     // Handle forgot password request
     @Transactional
     public void forgotPassword(String email) {
+        ServerTiming timing = ServerTiming.current();
+        long lookupStart = timing.start();
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+                .orElseThrow(() -> authMetrics.failure("forgot_password", "user_not_found",
+                        new UserNotFoundException("User not found with email: " + email)));
+        timing.record("user", lookupStart);
+
+        // Sign a reset link bound to the current password hash, or store a reset token (valid 30 minutes)
+        String token = signedLinkService.isEnabled()
+                ? signedLinkService.issue(TokenPurpose.PASSWORD_RESET, user.getId(),
+                        user.getPassword(), Duration.ofMinutes(30))
+                : oneTimeTokenStore.issue(TokenPurpose.PASSWORD_RESET, user.getId(), Duration.ofMinutes(30));
+
+        // Queue the reset email in the same transaction; the outbox dispatcher sends it
+        String link = "http://localhost:8080/reset-password.html?token=" + token;
+        long mailStart = timing.start();
+        emailService.enqueue(
+                user.getEmail(),
+                "Password Reset Request",
+                "Hello " + user.getName() + ",\n\n" +
+                        "Click the link below to reset your password:\n" +
+                        link + "\n\nThis link will expire in 30 minutes."
+        );
+        timing.record("mail", mailStart);
+    }
 
-        // Generate token
-        String token = UUID.randomUUID().toString();
+    // Reset password using the token; completes once the new hash is stored
+    public CompletableFuture<Void> resetPassword(String token, String newPassword) {
+        if (SignedLinkService.isSignedLink(token)) {
+            return resetPasswordWithSignedLink(token, newPassword);
+        }
+        return authMetrics.timeAsync("reset_password", () -> {
+            OneTimeTokenStore.Entry entry = oneTimeTokenStore.find(TokenPurpose.PASSWORD_RESET, token)
+                    .orElseThrow(() -> authMetrics.failure("reset_password", "invalid_token",
+                            new InvalidCredentialsException("Invalid reset token")));
+
+            if (entry.isExpired()) {
+                throw authMetrics.failure("reset_password", "expired_token",
+                        new InvalidCredentialsException("Reset token expired"));
+            }
+
+            ServerTiming timing = ServerTiming.current();
+            long hashStart = timing.start();
+            return passwordHashingService.encode(newPassword)
+                    .thenAccept(hash -> {
+                        timing.record("hash", hashStart);
+                        transactionTemplate.executeWithoutResult(status -> applyPasswordReset(token, hash));
+                    });
+        });
+    }
 
-        // Save reset token
-        PasswordResetToken resetToken = PasswordResetToken.builder()
-                .token(token)
-                .user(user)
-                .expiryDate(LocalDateTime.now().plusMinutes(30)) // valid 30 minutes
-                .build();
+    // Helper: store the new hash and consume the token (re-read, since it may have been used meanwhile)
+    private void applyPasswordReset(String token, String passwordHash) {
+        OneTimeTokenStore.Entry entry = oneTimeTokenStore.consume(TokenPurpose.PASSWORD_RESET, token)
+                .orElseThrow(() -> authMetrics.failure("reset_password", "token_consumed",
+                        new InvalidCredentialsException("Invalid reset token")));
 
-        passwordResetTokenRepository.save(resetToken);
+        User user = userRepository.findById(entry.userId())
+                .orElseThrow(() -> authMetrics.failure("reset_password", "token_consumed",
+                        new InvalidCredentialsException("Invalid reset token")));
+        user.setPassword(passwordHash);
+        userRepository.save(user);
+        principalCache.invalidateAfterCommit(user.getId(), user.getEmail());
 
-        // Send reset email
-        try {
-            String link = "http://localhost:8080/reset-password.html?token=" + token;
-            emailService.sendEmail(
-                    user.getEmail(),
-                    "Password Reset Request",
-                    "Hello " + user.getName() + ",\n\n" +
-                            "Click the link below to reset your password:\n" +
-                            link + "\n\nThis link will expire in 30 minutes."
-            );
-        } catch (Exception e) {
-            System.err.println("⚠️ Failed to send password reset email: " + e.getMessage());
-        }
+        // A new password ends every refresh-token session
+        refreshTokenService.revokeAllForUser(user.getId());
     }
 
-    // Reset password using the token
-    @Transactional
-    public void resetPassword(String token, String newPassword) {
-        PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
-                .orElseThrow(() -> new InvalidCredentialsException("Invalid reset token"));
+    // Helper: reset with a signed link; it stops matching once the password hash changes
+    private CompletableFuture<Void> resetPasswordWithSignedLink(String token, String newPassword) {
+        return authMetrics.timeAsync("reset_password", () -> {
+            SignedLinkService.SignedLink link = signedLinkService.parse(TokenPurpose.PASSWORD_RESET, token)
+                    .orElseThrow(() -> authMetrics.failure("reset_password", "invalid_token",
+                            new InvalidCredentialsException("Invalid reset token")));
+
+            if (link.isExpired()) {
+                throw authMetrics.failure("reset_password", "expired_token",
+                        new InvalidCredentialsException("Reset token expired"));
+            }
+
+            UserCredentials user = userRepository.findCredentialsById(link.userId())
+                    .filter(credentials -> signedLinkService.matches(link, credentials.password()))
+                    .orElseThrow(() -> authMetrics.failure("reset_password", "token_consumed",
+                            new InvalidCredentialsException("Invalid reset token")));
+
+            ServerTiming timing = ServerTiming.current();
+            long hashStart = timing.start();
+            return passwordHashingService.encode(newPassword)
+                    .thenAccept(hash -> {
+                        timing.record("hash", hashStart);
+                        transactionTemplate.executeWithoutResult(status -> applySignedPasswordReset(user, hash));
+                    });
+        });
+    }
 
-        if (resetToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new InvalidCredentialsException("Reset token expired");
+    // Helper: swap the hash only if it is still the one the link was bound to (a concurrent use loses)
+    private void applySignedPasswordReset(UserCredentials user, String passwordHash) {
+        if (!replacePasswordIfUnchanged(user.id(), user.password(), passwordHash)) {
+            throw authMetrics.failure("reset_password", "token_consumed",
+                    new InvalidCredentialsException("Invalid reset token"));
         }
+        principalCache.invalidateAfterCommit(user.id(), user.email());
 
-        User user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        // A new password ends every refresh-token session
+        refreshTokenService.revokeAllForUser(user.id());
+    }
+
+    // Helper: swap a password hash only if it is still oldHash (call within a transaction). The row is
+    // locked and the managed entity updated, so Hibernate refreshes just this user's cache entry.
+    private boolean replacePasswordIfUnchanged(Long userId, String oldHash, String newHash) {
+        User user = userRepository.findByIdForUpdate(userId).orElse(null);
+        if (user == null || !user.getPassword().equals(oldHash)) {
+            return false;
+        }
+        user.setPassword(newHash);
+        return true;
+    }
 
-        // Delete token after successful reset
-        passwordResetTokenRepository.delete(resetToken);
+    // Log out: revoke the presented access token and, if given, the refresh-token family
+    public void logout(String authHeader, ParsedToken parsedToken, String refreshToken) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw authMetrics.failure("logout", "missing_header",
+                    new InvalidCredentialsException("Missing or invalid Authorization header"));
+        }
+
+        revocationService.revoke(verifyBearer("logout", authHeader.substring(7), parsedToken));
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
     }
 
     // Get current authenticated user details from JWT
     public AuthResponse getCurrentUser(String authHeader) {
+        return getCurrentUser(authHeader, null);
+    }
+
+    // Get current user details, reusing the token already verified by JwtAuthenticationFilter
+    public AuthResponse getCurrentUser(String authHeader, ParsedToken parsedToken) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            throw new InvalidCredentialsException("Missing or invalid Authorization header");
+            throw authMetrics.failure("me", "missing_header",
+                    new InvalidCredentialsException("Missing or invalid Authorization header"));
         }
 
         String token = authHeader.substring(7); // Remove "Bearer "
-        if (!jwtUtil.validateToken(token)) {
-            throw new InvalidCredentialsException("Invalid or expired JWT token");
+        parsedToken = verifyBearer("me", token, parsedToken);
+
+        // Stateless mode: answer from the verified claims without touching the user table
+        // (compact-profile tokens carry no email or name, so they fall through to the lookup)
+        if (jwtUtil.isStateless() && parsedToken.subject() != null) {
+            AuthenticatedUser principal = jwtUtil.toPrincipal(parsedToken)
+                    .orElseThrow(() -> authMetrics.failure("me", "stale_claims",
+                            new InvalidCredentialsException("Invalid or expired JWT token")));
+            return new AuthResponse(
+                    token,
+                    principal.id(),
+                    principal.displayName(),
+                    principal.email(),
+                    principal.roles().isEmpty() ? null : principal.roles().get(0)
+            );
         }
 
-        String email = jwtUtil.extractUsername(token);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
+        String email = parsedToken.subject();
+        Long userId = parsedToken.userId();
+        ServerTiming timing = ServerTiming.current();
+        long lookupStart = timing.start();
+        UserCredentials user = (email != null
+                ? userRepository.findCredentialsByEmail(email)
+                : userRepository.findCredentialsById(userId))
+                .orElseThrow(() -> authMetrics.failure("me", "user_not_found",
+                        new UserNotFoundException(email != null
+                                ? "User not found with email: " + email
+                                : "User not found with id: " + userId)));
+        timing.record("user", lookupStart);
 
         return new AuthResponse(
                 token,
-                user.getId(),
-                user.getName(),
-                user.getEmail(),
-                user.getRole().name()
+                user.id(),
+                user.name(),
+                user.email(),
+                user.role().name()
         );
     }
 
+    // Helper: reuse the filter's verified token when it matches, otherwise verify; rejects revoked tokens
+    private ParsedToken verifyBearer(String operation, String token, ParsedToken parsedToken) {
+        if (parsedToken == null || !token.equals(parsedToken.token())) {
+            try {
+                parsedToken = jwtUtil.parseToken(token);
+            } catch (ExpiredJwtException e) {
+                throw authMetrics.failure(operation, "expired_token",
+                        new InvalidCredentialsException("Invalid or expired JWT token"));
+            } catch (Exception e) {
+                throw authMetrics.failure(operation, "invalid_token",
+                        new InvalidCredentialsException("Invalid or expired JWT token"));
+            }
+            if (revocationService.isRevoked(parsedToken.jti())) {
+                throw authMetrics.failure(operation, "revoked_token",
+                        new InvalidCredentialsException("Invalid or expired JWT token"));
+            }
+        }
+        return parsedToken;
+    }
+
 }
@@ -0,0 +1,226 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.EmailOutboxMessage;
+import com.example.authtemplate.entity.EmailOutboxStatus;
+import com.example.authtemplate.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background dispatcher that drains the email outbox.
+ *
+ * <p>Each run:</p>
+ * <ul>
+ *   <li>Claims a batch of due messages in a short transaction ({@code SKIP LOCKED}),
+ *       pushing their next attempt out by a lease so no other node picks them up</li>
+ *   <li>Sends the batch over a single connection of the shared {@link JavaMailSender}, on the
+ *       platform-thread {@code mailExecutor} so SMTP I/O never pins a virtual thread</li>
+ *   <li>Marks delivered messages as sent and clears their body (it carries verification and
+ *       reset links), and reschedules failures with exponential backoff until they are
+ *       dead-lettered after the maximum number of attempts</li>
+ * </ul>
+ *
+ * <p>No transaction or JDBC connection is held while talking to the mail server. Each
+ * batch send is timed as {@code auth.email.send{path=outbox,outcome}} and every message
+ * outcome is counted as {@code auth.email.outbox{outcome=sent|retry|dead}}.</p>
+ */
+@Slf4j
+@Service
+public class EmailOutboxDispatcher {
+
+    // Longest error message kept on a row
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final Executor mailExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 @Qualifier("mailExecutor") Executor mailExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${auth.mail-outbox.batch-size:50}") int batchSize,
+                                 @Value("${auth.mail-outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${auth.mail-outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                                 @Value("${auth.mail-outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                 @Value("${auth.mail-outbox.lease-ms:120000}") long leaseMs) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.mailExecutor = mailExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.sentCounter = meterRegistry.counter("auth.email.outbox", "outcome", "sent");
+        this.retryCounter = meterRegistry.counter("auth.email.outbox", "outcome", "retry");
+        this.deadCounter = meterRegistry.counter("auth.email.outbox", "outcome", "dead");
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    // Drain due messages batch by batch until the outbox has nothing left to send
+    @Scheduled(fixedDelayString = "${auth.mail-outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                List<EmailOutboxMessage> claimed = batch;
+                recordResults(batch, CompletableFuture.supplyAsync(() -> send(claimed), mailExecutor).join());
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // Lock a batch of due messages and lease them to this node
+    private List<EmailOutboxMessage> claimBatch() {
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(
+                    EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+            due.forEach(message -> message.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+        return batch == null ? List.of() : batch;
+    }
+
+    // Send a batch over one mail session; returns the errors of the messages that failed
+    private Map<Long, String> send(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        Map<Long, String> failures = new HashMap<>();
+
+        for (EmailOutboxMessage message : batch) {
+            try {
+                ids.put(toMimeMessage(message), message.getId());
+            } catch (MessagingException e) {
+                failures.put(message.getId(), e.getMessage());
+            }
+        }
+        if (ids.isEmpty()) {
+            return failures;
+        }
+
+        long start = System.nanoTime();
+        try {
+            mailSender.send(ids.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Set<Object> failed = e.getFailedMessages().keySet();
+            if (failed.isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+            for (Object mimeMessage : failed) {
+                Long id = ids.get(mimeMessage);
+                if (id != null) {
+                    failures.put(id, String.valueOf(e.getFailedMessages().get(mimeMessage)));
+                }
+            }
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+
+        String outcome = failures.isEmpty() ? "success" : failures.size() < batch.size() ? "partial" : "failure";
+        Timer.builder("auth.email.send")
+                .tag("path", "outbox")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return failures;
+    }
+
+    // Mark sent messages and reschedule or dead-letter failed ones
+    private void recordResults(List<EmailOutboxMessage> batch, Map<Long, String> failures) {
+        List<Long> batchIds = new ArrayList<>(batch.size());
+        batch.forEach(message -> batchIds.add(message.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutboxMessage message : outboxRepository.findAllById(batchIds)) {
+                message.setAttempts(message.getAttempts() + 1);
+                String error = failures.get(message.getId());
+                if (error == null) {
+                    message.setStatus(EmailOutboxStatus.SENT);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                    message.setBody(""); // do not keep token-bearing links once delivered
+                    sentCounter.increment();
+                } else if (message.getAttempts() >= maxAttempts) {
+                    message.setStatus(EmailOutboxStatus.DEAD);
+                    message.setLastError(truncate(error));
+                    log.warn("Dead-lettered email {} to {} after {} attempts: {}",
+                            message.getId(), message.getRecipient(), message.getAttempts(), error);
+                    deadCounter.increment();
+                } else {
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                    message.setLastError(truncate(error));
+                    retryCounter.increment();
+                }
+            }
+        });
+
+        if (!failures.isEmpty()) {
+            log.info("Email outbox batch: {} sent, {} failed", batch.size() - failures.size(), failures.size());
+        }
+    }
+
+    // Exponential backoff: initial * 2^(attempts - 1), capped
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody());
+        return mimeMessage;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return "unknown error";
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
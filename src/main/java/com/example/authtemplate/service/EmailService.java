@@ -1,8 +1,20 @@
 package com.example.authtemplate.service;
 
+import com.example.authtemplate.entity.EmailOutboxMessage;
+import com.example.authtemplate.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for sending email notifications.
@@ -12,6 +24,10 @@ import org.springframework.stereotype.Service;
  *   <li>Email verification links for account activation</li>
  *   <li>Other authentication-related notifications</li>
  * </ul>
+ *
+ * <p>Request paths should use {@link #enqueue(String, String, String)}, which writes to
+ * the outbox inside the caller's transaction; {@link EmailOutboxDispatcher} delivers the
+ * message later so the request never waits on the mail server.</p>
  */
 @Service
 public class EmailService {
@@ -19,16 +35,58 @@ public class EmailService {
     // Spring's mail sender for sending emails
     private final JavaMailSender mailSender;
 
-    public EmailService(JavaMailSender mailSender) {
+    // Repository for queued emails
+    private final EmailOutboxRepository outboxRepository;
+
+    // Platform threads for SMTP (see ExecutorConfig)
+    private final Executor mailExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    public EmailService(JavaMailSender mailSender,
+                        @Qualifier("mailExecutor") Executor mailExecutor,
+                        EmailOutboxRepository outboxRepository,
+                        MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
+        this.mailExecutor = mailExecutor;
+        this.outboxRepository = outboxRepository;
+        this.meterRegistry = meterRegistry;
     }
 
-    // Send a simple text email
+    // Send a simple text email immediately, timed as auth.email.send{path=direct}
     public void sendEmail(String to, String subject, String body) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject(subject);
         message.setText(body);
-        mailSender.send(message);
+
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            CompletableFuture.runAsync(() -> mailSender.send(message), mailExecutor).join();
+            outcome = "success";
+        } catch (CompletionException e) {
+            // Surface the MailException itself, as a direct send would
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            Timer.builder("auth.email.send")
+                    .tag("path", "direct")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Queue a simple text email; committed (or rolled back) with the caller's transaction
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
     }
 }
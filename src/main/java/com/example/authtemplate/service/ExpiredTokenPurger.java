@@ -0,0 +1,174 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.EmailOutboxStatus;
+import com.example.authtemplate.repository.EmailOutboxRepository;
+import com.example.authtemplate.repository.RefreshTokenRepository;
+import com.example.authtemplate.repository.RevokedTokenRepository;
+import com.example.authtemplate.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Background job that deletes expired one-time tokens.
+ *
+ * <p>Unused verification, password-reset and refresh tokens are otherwise never removed. Each run:</p>
+ * <ul>
+ *   <li>Selects expired ids through the expiry index, a bounded batch at a time (verification and
+ *       reset tokens through {@link OneTimeTokenStore#deleteExpired})</li>
+ *   <li>Deletes each batch in its own short transaction and pauses between batches,
+ *       so it never holds locks for long</li>
+ *   <li>Drops revocation entries whose token has expired anyway</li>
+ *   <li>Deletes sent and dead-lettered outbox emails older than the retention window</li>
+ *   <li>Optionally removes accounts that were never verified within the retention window</li>
+ *   <li>Logs the rows purged and the elapsed time, and records them as
+ *       {@code auth.purge.*} metrics</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ExpiredTokenPurger {
+
+    // Outbox states that are never sent again
+    private static final List<EmailOutboxStatus> TERMINAL_OUTBOX_STATES =
+            List.of(EmailOutboxStatus.SENT, EmailOutboxStatus.DEAD);
+
+    private final OneTimeTokenStore oneTimeTokenStore;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+    private final EmailOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer purgeTimer;
+
+    private final int batchSize;
+    private final long pauseMs;
+    private final boolean purgeUnverifiedUsers;
+    private final int unverifiedRetentionDays;
+    private final int outboxRetentionDays;
+
+    public ExpiredTokenPurger(OneTimeTokenStore oneTimeTokenStore,
+                              RefreshTokenRepository refreshTokenRepository,
+                              RevokedTokenRepository revokedTokenRepository,
+                              UserRepository userRepository,
+                              EmailOutboxRepository outboxRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.purge.batch-size:500}") int batchSize,
+                              @Value("${auth.purge.pause-ms:50}") long pauseMs,
+                              @Value("${auth.purge.unverified-users.enabled:false}") boolean purgeUnverifiedUsers,
+                              @Value("${auth.purge.unverified-users.retention-days:7}") int unverifiedRetentionDays,
+                              @Value("${auth.purge.email-outbox.retention-days:7}") int outboxRetentionDays) {
+        this.oneTimeTokenStore = oneTimeTokenStore;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userRepository = userRepository;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.purgeTimer = Timer.builder("auth.purge.duration").register(meterRegistry);
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.purgeUnverifiedUsers = purgeUnverifiedUsers;
+        this.unverifiedRetentionDays = unverifiedRetentionDays;
+        this.outboxRetentionDays = outboxRetentionDays;
+    }
+
+    // Run a full purge; disable with auth.purge.cron=-
+    @Scheduled(cron = "${auth.purge.cron:0 */15 * * * *}")
+    public void purge() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        long oneTimeTokens = purgeInBatches("one_time_tokens",
+                () -> oneTimeTokenStore.deleteExpired(now, batchSize));
+
+        long refreshTokens = purgeInBatches("refresh_tokens",
+                page -> refreshTokenRepository.findExpiredIds(now, page),
+                refreshTokenRepository::deleteAllByIdInBatch);
+
+        long revokedTokens = purgeInBatches("revoked_tokens",
+                page -> revokedTokenRepository.findExpiredIds(now, page),
+                revokedTokenRepository::deleteAllByIdInBatch);
+
+        LocalDateTime outboxCutoff = now.minusDays(outboxRetentionDays);
+        long outboxMessages = purgeInBatches("email_outbox",
+                page -> outboxRepository.findIdsInStatusAttemptedBefore(TERMINAL_OUTBOX_STATES, outboxCutoff, page),
+                outboxRepository::deleteAllByIdInBatch);
+
+        long users = 0;
+        if (purgeUnverifiedUsers) {
+            LocalDateTime cutoff = now.minusDays(unverifiedRetentionDays);
+            users = purgeInBatches("users",
+                    page -> userRepository.findUnverifiedIdsCreatedBefore(cutoff, page),
+                    this::deleteUsers);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        purgeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Purge finished in {} ms: {} verification/reset tokens, {} refresh tokens, "
+                        + "{} revocation entries, {} outbox emails, {} unverified users",
+                elapsedNanos / 1_000_000, oneTimeTokens, refreshTokens, revokedTokens, outboxMessages, users);
+    }
+
+    // Helper: delete matching rows one bounded batch (and transaction) at a time
+    private <ID> long purgeInBatches(String table, Function<Pageable, List<ID>> findIds, Consumer<List<ID>> delete) {
+        return purgeInBatches(table, () -> {
+            List<ID> ids = findIds.apply(PageRequest.of(0, batchSize));
+            if (!ids.isEmpty()) {
+                delete.accept(ids);
+            }
+            return ids.size();
+        });
+    }
+
+    // Helper: run a batch delete returning its row count, each in its own transaction, until a batch comes back short
+    private long purgeInBatches(String table, IntSupplier deleteBatch) {
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            int count = deleted == null ? 0 : deleted;
+            total += count;
+            if (count < batchSize || !pause()) {
+                break;
+            }
+        }
+        meterRegistry.counter("auth.purge.rows", "table", table).increment(total);
+        return total;
+    }
+
+    // Helper: remove unverified users together with the tokens referencing them
+    private void deleteUsers(List<Long> userIds) {
+        oneTimeTokenStore.deleteByUserIds(userIds);
+        userRepository.deleteAllByIdInBatch(userIds);
+    }
+
+    // Helper: throttle between batches; false if interrupted
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
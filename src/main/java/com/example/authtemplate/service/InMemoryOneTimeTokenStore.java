@@ -0,0 +1,258 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.TokenPurpose;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OneTimeTokenStore} kept in process memory, for single-node and test setups.
+ *
+ * <p>Tokens live in a fixed number of shards, each a plain hash map behind its own lock,
+ * so concurrent registrations and redemptions rarely contend:</p>
+ * <ul>
+ *   <li>Entries are keyed by the same 128-bit hash as the JPA store; raw tokens are not kept</li>
+ *   <li>Each shard has a hashed timer wheel of {@code wheel-slots} slots of {@code tick-ms}:
+ *       an entry is linked into the slot of its expiry tick, and every tick only that slot
+ *       is scanned, instead of sweeping the whole map</li>
+ *   <li>Lookups check the expiry themselves, so correctness never depends on the wheel
+ *       being up to date</li>
+ *   <li>Consumed and replaced entries stay linked in the wheel until their slot comes round;
+ *       they are recognised by identity and skipped</li>
+ * </ul>
+ *
+ * <p>Tokens are lost on restart and are not shared between nodes, and consuming a token is
+ * not undone if the caller's transaction rolls back. The entry count is exported as
+ * {@code auth.onetimetokens.entries}.</p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "auth.one-time-tokens.store", havingValue = "memory")
+public class InMemoryOneTimeTokenStore implements OneTimeTokenStore {
+
+    private final Shard[] shards;
+    private final long tickMs;
+    private final int wheelSlots;
+
+    public InMemoryOneTimeTokenStore(@Value("${auth.one-time-tokens.memory.shards:16}") int shards,
+                                     @Value("${auth.one-time-tokens.memory.tick-ms:1000}") long tickMs,
+                                     @Value("${auth.one-time-tokens.memory.wheel-slots:3600}") int wheelSlots,
+                                     MeterRegistry meterRegistry) {
+        // Round up to a power of two so the shard is picked with a mask
+        int shardCount = shards <= 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+        long startTick = System.currentTimeMillis() / tickMs;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(wheelSlots, startTick);
+        }
+        this.tickMs = tickMs;
+        this.wheelSlots = wheelSlots;
+        Gauge.builder("auth.onetimetokens.entries", this, InMemoryOneTimeTokenStore::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void save(TokenPurpose purpose, String token, Long userId, LocalDateTime expiresAt) {
+        UUID key = OneTimeTokens.key(purpose, token);
+        long expiryTick = Math.floorDiv(toEpochMillis(expiresAt), tickMs);
+        shardOf(key).put(new Node(key, new Entry(userId, expiresAt), expiryTick));
+    }
+
+    @Override
+    public Optional<Entry> find(TokenPurpose purpose, String token) {
+        UUID key = OneTimeTokens.key(purpose, token);
+        return Optional.ofNullable(shardOf(key).get(key)).map(node -> node.entry);
+    }
+
+    @Override
+    public Optional<Entry> consume(TokenPurpose purpose, String token) {
+        UUID key = OneTimeTokens.key(purpose, token);
+        return Optional.ofNullable(shardOf(key).remove(key)).map(node -> node.entry);
+    }
+
+    // The wheel removes everything that is due, so limit does not apply
+    @Override
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return advanceTo(Math.floorDiv(toEpochMillis(now), tickMs));
+    }
+
+    @Override
+    public void deleteByUserIds(Collection<Long> userIds) {
+        Set<Long> ids = new HashSet<>(userIds);
+        for (Shard shard : shards) {
+            shard.removeUsers(ids);
+        }
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    // Expire the entries in the slots that have come due since the last tick
+    @Scheduled(fixedDelayString = "${auth.one-time-tokens.memory.tick-ms:1000}")
+    public void tick() {
+        int expired = advanceTo(System.currentTimeMillis() / tickMs);
+        if (expired > 0) {
+            log.debug("Expired {} one-time tokens", expired);
+        }
+    }
+
+    // Number of live (possibly expired but not yet ticked) entries
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private int advanceTo(long tick) {
+        int expired = 0;
+        for (Shard shard : shards) {
+            expired += shard.advanceTo(tick, wheelSlots);
+        }
+        return expired;
+    }
+
+    private Shard shardOf(UUID key) {
+        // The key is a hash already; its low bits are uniformly distributed
+        return shards[(int) key.getLeastSignificantBits() & (shards.length - 1)];
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Map entry, also linked into its wheel slot
+    private static final class Node {
+        private final UUID key;
+        private final Entry entry;
+        private final long expiryTick;
+        private Node nextInSlot;
+
+        private Node(UUID key, Entry entry, long expiryTick) {
+            this.key = key;
+            this.entry = entry;
+            this.expiryTick = expiryTick;
+        }
+    }
+
+    // One lock, map and timer wheel; a ReentrantLock so virtual threads are never pinned
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, Node> entries = new HashMap<>();
+        private final Node[] wheel;
+        private long currentTick;
+
+        private Shard(int wheelSlots, long startTick) {
+            this.wheel = new Node[wheelSlots];
+            this.currentTick = startTick;
+        }
+
+        private void put(Node node) {
+            lock.lock();
+            try {
+                entries.put(node.key, node);
+                // Entries already due go into the next slot to be scanned
+                int slot = slotOf(Math.max(node.expiryTick, currentTick + 1));
+                node.nextInSlot = wheel[slot];
+                wheel[slot] = node;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Node get(UUID key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Node remove(UUID key) {
+            lock.lock();
+            try {
+                return entries.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void removeUsers(Set<Long> userIds) {
+            lock.lock();
+            try {
+                entries.values().removeIf(node -> userIds.contains(node.entry.userId()));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Scan the slots between the last tick and this one (at most one full turn)
+        private int advanceTo(long tick, int wheelSlots) {
+            lock.lock();
+            try {
+                int expired = 0;
+                for (long t = Math.max(currentTick + 1, tick - wheelSlots + 1); t <= tick; t++) {
+                    expired += expireSlot(slotOf(t), tick);
+                }
+                currentTick = Math.max(currentTick, tick);
+                return expired;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Unlink nodes due by tick and drop them from the map (if still current); later rounds stay
+        private int expireSlot(int slot, long tick) {
+            int expired = 0;
+            Node kept = null;
+            Node node = wheel[slot];
+            while (node != null) {
+                Node next = node.nextInSlot;
+                if (node.expiryTick <= tick) {
+                    if (entries.remove(node.key, node)) {
+                        expired++;
+                    }
+                    node.nextInSlot = null;
+                } else {
+                    node.nextInSlot = kept;
+                    kept = node;
+                }
+                node = next;
+            }
+            wheel[slot] = kept;
+            return expired;
+        }
+
+        private int slotOf(long tick) {
+            return (int) Math.floorMod(tick, (long) wheel.length);
+        }
+    }
+}
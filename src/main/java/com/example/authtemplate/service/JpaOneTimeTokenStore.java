@@ -0,0 +1,94 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.OneTimeToken;
+import com.example.authtemplate.entity.TokenPurpose;
+import com.example.authtemplate.repository.OneTimeTokenRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * {@link OneTimeTokenStore} backed by the {@code one_time_tokens} table.
+ *
+ * <p>Rows are keyed by a 128-bit hash of purpose and token, so a database leak does not
+ * expose usable links. Consuming deletes the row with a conditional delete, so of two
+ * concurrent redemptions only one succeeds, and it rolls back with the caller's transaction.</p>
+ */
+@Service
+@ConditionalOnProperty(name = "auth.one-time-tokens.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaOneTimeTokenStore implements OneTimeTokenStore {
+
+    private final OneTimeTokenRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaOneTimeTokenStore(OneTimeTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    // Persist rather than save(): the key is assigned, so save() would merge (select first)
+    @Override
+    @Transactional
+    public void save(TokenPurpose purpose, String token, Long userId, LocalDateTime expiresAt) {
+        entityManager.persist(OneTimeToken.builder()
+                .tokenKey(OneTimeTokens.key(purpose, token))
+                .purpose(purpose)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Entry> find(TokenPurpose purpose, String token) {
+        return repository.findById(OneTimeTokens.key(purpose, token))
+                .map(JpaOneTimeTokenStore::toEntry);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Entry> consume(TokenPurpose purpose, String token) {
+        UUID key = OneTimeTokens.key(purpose, token);
+        Optional<OneTimeToken> row = repository.findById(key);
+        // Another transaction may have deleted it since the read; only the deleting caller wins
+        if (row.isEmpty() || repository.deleteByKey(key) == 0) {
+            return Optional.empty();
+        }
+        return row.map(JpaOneTimeTokenStore::toEntry);
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(LocalDateTime now, int limit) {
+        List<UUID> keys = repository.findExpiredKeys(now, PageRequest.of(0, limit));
+        if (!keys.isEmpty()) {
+            repository.deleteAllByIdInBatch(keys);
+        }
+        return keys.size();
+    }
+
+    @Override
+    @Transactional
+    public void deleteByUserIds(Collection<Long> userIds) {
+        repository.deleteByUserIdIn(userIds);
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    private static Entry toEntry(OneTimeToken row) {
+        return new Entry(row.getUserId(), row.getExpiresAt());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.TokenPurpose;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Storage for one-time verification and password-reset tokens.
+ *
+ * <p>Tokens are random strings handed out in links; a store maps each one, per
+ * {@link TokenPurpose}, to its user and expiry until it is consumed or expires.
+ * The backend is chosen with {@code auth.one-time-tokens.store}:</p>
+ * <ul>
+ *   <li>{@code jpa} (default): {@link JpaOneTimeTokenStore}, one table shared by all nodes</li>
+ *   <li>{@code memory}: {@link InMemoryOneTimeTokenStore}, for single-node and test setups;
+ *       tokens do not survive a restart</li>
+ * </ul>
+ */
+public interface OneTimeTokenStore {
+
+    /**
+     * A stored token.
+     *
+     * @param userId    user the token was issued to
+     * @param expiresAt end of validity
+     */
+    record Entry(Long userId, LocalDateTime expiresAt) {
+
+        public boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+
+    // Issue a new random token for the user
+    default String issue(TokenPurpose purpose, Long userId, Duration lifetime) {
+        String token = OneTimeTokens.newToken();
+        save(purpose, token, userId, LocalDateTime.now().plus(lifetime));
+        return token;
+    }
+
+    // Store a token with an explicit expiry
+    void save(TokenPurpose purpose, String token, Long userId, LocalDateTime expiresAt);
+
+    // Look a token up without consuming it; expired tokens may still be returned
+    Optional<Entry> find(TokenPurpose purpose, String token);
+
+    // Remove a token and return it; empty if unknown or already consumed (at most one caller wins)
+    Optional<Entry> consume(TokenPurpose purpose, String token);
+
+    // Delete up to limit tokens that expired before now; returns the number deleted
+    int deleteExpired(LocalDateTime now, int limit);
+
+    // Delete every token of the given users
+    void deleteByUserIds(Collection<Long> userIds);
+
+    // Whether tokens survive a restart and are shared by all nodes
+    boolean isDurable();
+}
@@ -0,0 +1,41 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.TokenPurpose;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Token generation and key derivation shared by the {@link OneTimeTokenStore} implementations.
+ */
+final class OneTimeTokens {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private OneTimeTokens() {
+    }
+
+    // 128 random bits as 22 base64url characters (never contains '.', unlike signed links)
+    static String newToken() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Storage key: SHA-256 of purpose code and token, truncated to 128 bits
+    static UUID key(TokenPurpose purpose, String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(purpose.code());
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new UUID(hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
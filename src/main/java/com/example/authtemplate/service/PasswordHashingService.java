@@ -0,0 +1,134 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing off the servlet threads.
+ *
+ * <p>BCrypt is deliberately slow, so encode and match calls are submitted to a
+ * dedicated, CPU-sized pool with a bounded queue:</p>
+ * <ul>
+ *   <li>When the queue is full the call fails fast with {@link ServiceBusyException}
+ *       (503 + Retry-After) instead of tying up a request thread</li>
+ *   <li>Results complete on the application task executor, so follow-up work such as
+ *       database writes does not occupy a hashing thread</li>
+ *   <li>Hash latency is exported as {@code auth.password.hash{op,outcome}} (outcomes
+ *       {@code success}/{@code match}/{@code mismatch}/{@code error}); queue depth and
+ *       rejections as {@code auth.password.hash.*}</li>
+ * </ul>
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    // Dedicated pool for hashing work
+    private final ThreadPoolExecutor hashExecutor;
+
+    // Executor on which returned futures complete
+    private final Executor callbackExecutor;
+
+    private final long retryAfterSeconds;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("applicationTaskExecutor") Executor callbackExecutor,
+                                  @Value("${auth.password-hashing.threads:0}") int threads,
+                                  @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${auth.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.callbackExecutor = callbackExecutor;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashExecutor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", hashExecutor, executor -> executor.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", hashExecutor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    // Hash a raw password
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword), hash -> "success");
+    }
+
+    // Check a raw password against a stored hash
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("match", () -> passwordEncoder.matches(rawPassword, encodedPassword),
+                matches -> matches ? "match" : "mismatch");
+    }
+
+    // Whether a stored hash uses an older cost or algorithm than the current encoder (cheap, no hashing)
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    // Run hashing work on the dedicated pool, failing fast when the queue is full
+    private <T> CompletableFuture<T> submit(String op, Supplier<T> work, Function<T, String> outcomeOf) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(op, work, outcomeOf), hashExecutor)
+                    .thenApplyAsync(Function.identity(), callbackExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Server is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    // Helper: run the hashing work and record its latency under its outcome
+    private <T> T timed(String op, Supplier<T> work, Function<T, String> outcomeOf) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = outcomeOf.apply(result);
+            return result;
+        } finally {
+            Timer.builder("auth.password.hash")
+                    .tag("op", op)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.config.RateLimitProperties;
+import com.example.authtemplate.exception.RateLimitExceededException;
+import com.example.authtemplate.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the public auth endpoints per client IP and per target account.
+ *
+ * <p>Every configured endpoint/key pair gets its own lock-free {@link RateLimiter}:</p>
+ * <ul>
+ *   <li>IP limits are checked by {@code RateLimitFilter} before the request is dispatched</li>
+ *   <li>Account limits are checked by the controller once the email is known, which caps
+ *       BCrypt work and outgoing mail per address regardless of how many IPs are used</li>
+ *   <li>Rejections are counted as {@code auth.ratelimit.rejected{endpoint,key}} and
+ *       tracked buckets are exported as {@code auth.ratelimit.buckets}</li>
+ *   <li>Each limiter expires idle buckets itself and holds at most
+ *       {@code auth.rate-limit.max-keys} buckets</li>
+ * </ul>
+ */
+@Service
+public class RateLimitService {
+
+    private final boolean enabled;
+    private final Map<String, Limit> ipLimits = new HashMap<>();
+    private final Map<String, Limit> accountLimits = new HashMap<>();
+
+    public RateLimitService(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        properties.getEndpoints().forEach((endpoint, limits) -> {
+            register(ipLimits, endpoint, "ip", limits.getIp(), properties.getMaxKeys(), meterRegistry);
+            register(accountLimits, endpoint, "account", limits.getAccount(), properties.getMaxKeys(), meterRegistry);
+        });
+    }
+
+    // Whether the endpoint has a per-IP limit
+    public boolean hasIpLimit(String endpoint) {
+        return enabled && ipLimits.containsKey(endpoint);
+    }
+
+    // Take a token for the client address, or throw RateLimitExceededException
+    public void checkIp(String endpoint, String clientIp) {
+        check(ipLimits, endpoint, clientIp);
+    }
+
+    // Take a token for the target account, or throw RateLimitExceededException
+    public void checkAccount(String endpoint, String email) {
+        if (email != null) {
+            check(accountLimits, endpoint, email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // Helper: acquire from the endpoint's limiter, translating a wait into a 429
+    private void check(Map<String, Limit> limits, String endpoint, String key) {
+        Limit limit = enabled ? limits.get(endpoint) : null;
+        if (limit == null || key == null) {
+            return;
+        }
+        long waitNanos = limit.limiter().tryAcquire(key);
+        if (waitNanos > 0) {
+            limit.rejected().increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException("Too many requests, please retry later", retryAfterSeconds);
+        }
+    }
+
+    // Helper: create the limiter and meters for one endpoint/key pair
+    private static void register(Map<String, Limit> limits, String endpoint, String keyType,
+                                 RateLimitProperties.Limit config, int maxKeys, MeterRegistry meterRegistry) {
+        if (config == null) {
+            return;
+        }
+        RateLimiter limiter = new RateLimiter(config.getCapacity(), config.getPeriod(), maxKeys);
+        Counter rejected = Counter.builder("auth.ratelimit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", limiter, RateLimiter::size)
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(meterRegistry);
+        limits.put(endpoint, new Limit(limiter, rejected));
+    }
+
+    private record Limit(RateLimiter limiter, Counter rejected) {
+    }
+}
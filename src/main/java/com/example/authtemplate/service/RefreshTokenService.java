@@ -0,0 +1,160 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.RefreshToken;
+import com.example.authtemplate.entity.User;
+import com.example.authtemplate.exception.InvalidCredentialsException;
+import com.example.authtemplate.repository.RefreshTokenRepository;
+import com.example.authtemplate.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Service for issuing and rotating refresh tokens.
+ *
+ * <p>Refresh tokens let clients obtain a new access token without re-sending their
+ * password, so no BCrypt work is needed after the initial login:</p>
+ * <ul>
+ *   <li>Tokens are 256-bit random values; only their SHA-256 hash is stored</li>
+ *   <li>Every exchange marks the presented token used and issues a new one in the same family</li>
+ *   <li>Presenting an already-used or revoked token revokes the whole family (reuse detection)</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lifetime;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jwt.refreshExpirationMs}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lifetime = Duration.ofMillis(refreshExpirationMs);
+    }
+
+    /**
+     * Outcome of a successful rotation.
+     *
+     * @param user         owner of the token (initialized, safe to use after the transaction)
+     * @param refreshToken the new raw refresh token
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    // Issue a refresh token starting a new rotation family (one per login); the user is
+    // only referenced by id, so issuing never loads the user row
+    @Transactional
+    public String issue(Long userId) {
+        return create(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for a new one.
+     *
+     * @throws InvalidCredentialsException if the token is unknown, expired, revoked or reused;
+     *                                     on reuse the whole family has been revoked
+     */
+    public Rotation rotate(String rawToken) {
+        RotationResult result = transactionTemplate.execute(status -> rotateInTransaction(rawToken));
+        if (result == null || result.error() != null) {
+            throw new InvalidCredentialsException(result == null ? "Invalid refresh token" : result.error());
+        }
+        return result.rotation();
+    }
+
+    // Revoke all refresh tokens of a user (e.g. after a password change)
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    // Revoke the family of a single refresh token (e.g. on logout); unknown tokens are ignored
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findFamilyIdByTokenHash(hash(rawToken))
+                .ifPresent(familyId -> refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now()));
+    }
+
+    // Helper: the rotation itself; errors are returned (not thrown) so a reuse revocation still commits
+    private RotationResult rotateInTransaction(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHashForUpdate(hash(rawToken)).orElse(null);
+        if (token == null) {
+            return RotationResult.failed("Invalid refresh token");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getUsedAt() != null || token.getRevokedAt() != null) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            log.warn("Refresh token reuse detected for user {}; family {} revoked",
+                    token.getUser().getId(), token.getFamilyId());
+            return RotationResult.failed("Refresh token has already been used");
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            return RotationResult.failed("Refresh token expired");
+        }
+
+        User user = token.getUser();
+        if (!user.isEnabled()) {
+            return RotationResult.failed("Account is disabled");
+        }
+
+        token.setUsedAt(now);
+        String next = create(user, token.getFamilyId());
+        return new RotationResult(new Rotation(user, next), null);
+    }
+
+    // Helper: persist a new token in the given family and return its raw value
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(user)
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plus(lifetime))
+                .build());
+        return rawToken;
+    }
+
+    // Helper: hex SHA-256 of a raw token
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record RotationResult(Rotation rotation, String error) {
+        static RotationResult failed(String error) {
+            return new RotationResult(null, error);
+        }
+    }
+}
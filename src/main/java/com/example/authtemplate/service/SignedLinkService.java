@@ -0,0 +1,172 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.TokenPurpose;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Self-validating, HMAC-signed tokens for verification and password-reset links.
+ *
+ * <p>A signed link replaces a token kept in the {@link OneTimeTokenStore}:</p>
+ * <ul>
+ *   <li>It carries the purpose, user id, expiry and a fingerprint of the user state the
+ *       link is meant to change (the enabled flag, or the current password hash)</li>
+ *   <li>Once that state changes the fingerprint no longer matches, so the link is
+ *       single-use without anything being stored</li>
+ *   <li>The fingerprint is a keyed hash, so the link reveals nothing about the password hash</li>
+ * </ul>
+ *
+ * <p>Format: {@code base64url(payload).base64url(mac)}, where the payload is purpose (1 byte),
+ * user id (8), expiry in epoch seconds (8) and fingerprint (8), and the MAC is HMAC-SHA256
+ * truncated to 128 bits. Stored tokens never contain a {@code '.'}, which is how the two
+ * kinds are told apart.</p>
+ *
+ * <p>Issuing is controlled by {@code auth.signed-links.enabled}; signed links are always
+ * accepted, so links already mailed keep working if the flag is turned off again. The key is
+ * {@code auth.signed-links.secret}, or derived from {@code jwt.secret} when that is empty.</p>
+ */
+@Service
+public class SignedLinkService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int PAYLOAD_BYTES = 1 + Long.BYTES + Long.BYTES + 8;
+
+    private static final int FINGERPRINT_BYTES = 8;
+
+    private static final int MAC_BYTES = 16;
+
+    // Leading byte of fingerprint input; never a purpose code, so the two MAC inputs cannot collide
+    private static final byte FINGERPRINT_DOMAIN = 0;
+
+    /**
+     * A link whose MAC has been checked.
+     *
+     * @param purpose     what the link was issued for
+     * @param userId      user the link was issued to
+     * @param expiresAt   end of validity
+     * @param fingerprint keyed hash of the user state at issue time
+     */
+    public record SignedLink(TokenPurpose purpose, long userId, Instant expiresAt, byte[] fingerprint) {
+
+        public boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+    }
+
+    private final boolean enabled;
+    private final SecretKeySpec key;
+
+    public SignedLinkService(@Value("${auth.signed-links.enabled:false}") boolean enabled,
+                             @Value("${auth.signed-links.secret:}") String secret,
+                             @Value("${jwt.secret}") String jwtSecret) {
+        this.enabled = enabled;
+        byte[] keyBytes = secret.isBlank()
+                ? sha256("signed-links:" + jwtSecret)
+                : secret.getBytes(StandardCharsets.UTF_8);
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    // Whether new links are issued signed (otherwise as stored tokens)
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Signed links contain a '.', stored tokens never do
+    public static boolean isSignedLink(String token) {
+        return token != null && token.indexOf('.') >= 0;
+    }
+
+    // Issue a link bound to the user's current state (see matches)
+    public String issue(TokenPurpose purpose, long userId, String state, Duration lifetime) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+                .put(purpose.code())
+                .putLong(userId)
+                .putLong(Instant.now().plus(lifetime).getEpochSecond())
+                .put(fingerprint(purpose, userId, state))
+                .array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+    }
+
+    // Decode a link and check its MAC and purpose; empty if it is malformed, forged or for another purpose
+    public Optional<SignedLink> parse(TokenPurpose expected, String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0 || token.indexOf('.', dot + 1) >= 0) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] presentedMac;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            presentedMac = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (payload.length != PAYLOAD_BYTES || !MessageDigest.isEqual(mac(payload), presentedMac)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (buffer.get() != expected.code()) {
+            return Optional.empty();
+        }
+        long userId = buffer.getLong();
+        Instant expiresAt = Instant.ofEpochSecond(buffer.getLong());
+        byte[] fingerprint = new byte[FINGERPRINT_BYTES];
+        buffer.get(fingerprint);
+        return Optional.of(new SignedLink(expected, userId, expiresAt, fingerprint));
+    }
+
+    // Whether the user is still in the state the link was issued for (false once it has been used)
+    public boolean matches(SignedLink link, String state) {
+        return MessageDigest.isEqual(link.fingerprint(), fingerprint(link.purpose(), link.userId(), state));
+    }
+
+    // Helper: keyed hash of purpose, user id and state, truncated
+    private byte[] fingerprint(TokenPurpose purpose, long userId, String state) {
+        byte[] stateBytes = state.getBytes(StandardCharsets.UTF_8);
+        byte[] input = ByteBuffer.allocate(2 + Long.BYTES + stateBytes.length)
+                .put(FINGERPRINT_DOMAIN)
+                .put(purpose.code())
+                .putLong(userId)
+                .put(stateBytes)
+                .array();
+        return Arrays.copyOf(hmac(input), FINGERPRINT_BYTES);
+    }
+
+    private byte[] mac(byte[] payload) {
+        return Arrays.copyOf(hmac(payload), MAC_BYTES);
+    }
+
+    private byte[] hmac(byte[] input) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(input);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.config.JwtUtil;
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.dto.IntrospectionResult;
+import com.example.authtemplate.exception.InvalidCredentialsException;
+import com.example.authtemplate.exception.InvalidRequestException;
+import com.example.authtemplate.repository.UserCredentials;
+import com.example.authtemplate.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch token introspection for internal services (in the spirit of RFC 7662).
+ *
+ * <p>Checks many access tokens in one call instead of one {@code /api/auth/me} per token:</p>
+ * <ul>
+ *   <li>Signatures are verified in parallel (through the verified-token cache when enabled)
+ *       and revoked tokens are rejected</li>
+ *   <li>The users behind all valid tokens are loaded with one {@code IN} query (two when
+ *       the batch mixes standard and compact-profile tokens, which name users by id)</li>
+ *   <li>A token is active only if its user still exists and is enabled; roles are the
+ *       user's current roles, not the ones in the token</li>
+ * </ul>
+ *
+ * <p>Callers authenticate with the shared secret {@code auth.introspection.secret};
+ * the endpoint is disabled while it is empty.</p>
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationService revocationService;
+    private final UserRepository userRepository;
+    private final AuthMetrics authMetrics;
+    private final int maxBatchSize;
+
+    // Shared secret expected from callers; null when the endpoint is disabled
+    private final byte[] secret;
+
+    public TokenIntrospectionService(JwtUtil jwtUtil,
+                                     TokenRevocationService revocationService,
+                                     UserRepository userRepository,
+                                     AuthMetrics authMetrics,
+                                     @Value("${auth.introspection.secret:}") String secret,
+                                     @Value("${auth.introspection.max-batch-size:500}") int maxBatchSize) {
+        this.jwtUtil = jwtUtil;
+        this.revocationService = revocationService;
+        this.userRepository = userRepository;
+        this.authMetrics = authMetrics;
+        this.secret = secret.isBlank() ? null : secret.getBytes(StandardCharsets.UTF_8);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // Check the caller's shared secret
+    public void authorize(String presented) {
+        if (secret == null || presented == null
+                || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw authMetrics.failure("introspect", "unauthorized",
+                    new InvalidCredentialsException("Invalid introspection credentials"));
+        }
+    }
+
+    // One result per token, in request order
+    public List<IntrospectionResult> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > maxBatchSize) {
+            throw authMetrics.failure("introspect", "batch_too_large",
+                    new InvalidRequestException("At most " + maxBatchSize + " tokens per request"));
+        }
+
+        return authMetrics.time("introspect", () -> {
+            // CPU-bound signature checks, spread over the common pool
+            List<ParsedToken> verified = tokens.parallelStream()
+                    .map(this::verifyOrNull)
+                    .toList();
+
+            Set<String> emails = verified.stream()
+                    .filter(Objects::nonNull)
+                    .map(ParsedToken::subject)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<Long> ids = verified.stream()
+                    .filter(token -> token != null && token.subject() == null)
+                    .map(ParsedToken::userId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<String, UserCredentials> usersByEmail = emails.isEmpty()
+                    ? Map.of()
+                    : userRepository.findCredentialsByEmailIn(emails).stream()
+                    .collect(Collectors.toMap(UserCredentials::email, Function.identity(), (first, second) -> first));
+            Map<Long, UserCredentials> usersById = ids.isEmpty()
+                    ? Map.of()
+                    : userRepository.findCredentialsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(UserCredentials::id, Function.identity()));
+
+            return verified.stream()
+                    .map(token -> toResult(token, userOf(token, usersByEmail, usersById)))
+                    .toList();
+        });
+    }
+
+    // Helper: verified, unrevoked token or null
+    private ParsedToken verifyOrNull(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            ParsedToken parsed = jwtUtil.parseToken(token);
+            return revocationService.isRevoked(parsed.jti()) ? null : parsed;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Helper: the loaded user a token names, by email or (compact profile) by id
+    private static UserCredentials userOf(ParsedToken token,
+                                          Map<String, UserCredentials> usersByEmail,
+                                          Map<Long, UserCredentials> usersById) {
+        if (token == null) {
+            return null;
+        }
+        if (token.subject() != null) {
+            return usersByEmail.get(token.subject());
+        }
+        return token.userId() != null ? usersById.get(token.userId()) : null;
+    }
+
+    private static IntrospectionResult toResult(ParsedToken token, UserCredentials user) {
+        if (token == null || user == null || !user.enabled()) {
+            return IntrospectionResult.inactive();
+        }
+        return new IntrospectionResult(
+                true,
+                user.email(),
+                user.id(),
+                user.role() != null ? List.of(user.role().name()) : List.of(),
+                token.expiresAt().getTime() / 1000
+        );
+    }
+}
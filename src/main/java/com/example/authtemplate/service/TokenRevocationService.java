@@ -0,0 +1,128 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.entity.RevokedToken;
+import com.example.authtemplate.repository.RevokedTokenRepository;
+import com.example.authtemplate.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Access-token revocation backed by a persisted denylist.
+ *
+ * <p>Revoked {@code jti}s are stored until their token expires. Lookups go through an
+ * in-memory Bloom filter first, so almost every request is answered without touching
+ * the database; only filter hits fall through to an exact lookup. The filter:</p>
+ * <ul>
+ *   <li>Is updated immediately for revocations made on this node</li>
+ *   <li>Picks up revocations from other nodes incrementally, by revocation time</li>
+ *   <li>Is rebuilt periodically from the unexpired entries so expired ones stop
+ *       contributing false positives</li>
+ *   <li>Reports its estimated false-positive rate as {@code auth.revocation.bloom.fpp}</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double targetFalsePositiveRate;
+
+    // Overlap applied to the incremental watermark to tolerate clock skew between nodes
+    private final Duration syncOverlap;
+
+    // Replaced wholesale on rebuild; updated in place between rebuilds
+    private volatile BloomFilter filter;
+
+    // Revocation time up to which entries have been loaded into the filter
+    private volatile LocalDateTime watermark;
+
+    private final Counter exactChecks;
+    private final Counter falsePositives;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${auth.revocation.false-positive-rate:0.001}") double targetFalsePositiveRate,
+                                  @Value("${auth.revocation.sync-overlap-ms:10000}") long syncOverlapMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.syncOverlap = Duration.ofMillis(syncOverlapMs);
+        this.filter = new BloomFilter(expectedRevocations, targetFalsePositiveRate);
+        this.watermark = LocalDateTime.now();
+
+        this.exactChecks = Counter.builder("auth.revocation.exact_checks").register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.false_positives").register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.fpp", this, service -> service.filter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+    }
+
+    // Whether the token with this jti has been revoked; tokens without a jti cannot be revoked
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        exactChecks.increment();
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        if (!revoked) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    // Revoke a verified access token until it expires; false if it carries no jti
+    public boolean revoke(ParsedToken token) {
+        if (token.jti() == null) {
+            return false;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(token.jti())
+                .expiresAt(LocalDateTime.ofInstant(token.expiresAt().toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        filter.put(token.jti());
+        return true;
+    }
+
+    // Add entries revoked on other nodes since the last sync
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval-ms:5000}")
+    public void syncIncrementally() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findJtisRevokedAfter(watermark.minus(syncOverlap));
+        BloomFilter current = filter;
+        jtis.forEach(current::put);
+        watermark = now;
+    }
+
+    // Rebuild the filter from unexpired entries, sized for the current volume
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${auth.revocation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, jtis.size() * 2L), targetFalsePositiveRate);
+        jtis.forEach(rebuilt::put);
+        filter = rebuilt;
+        // Revocations committed while loading are picked up by the next incremental sync
+        watermark = now;
+
+        log.info("Revocation filter rebuilt: {} entries, {} bits, {} hashes, estimated FPP {}",
+                jtis.size(), rebuilt.bitSize(), rebuilt.hashCount(),
+                String.format("%.2e", rebuilt.expectedFalsePositiveRate()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.config.AuthenticatedUser;
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.repository.UserCredentials;
+import com.example.authtemplate.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded in-process cache of authenticated principals, keyed by email (or by user id
+ * for compact-profile tokens).
+ *
+ * <p>Used by the JWT filter so that a request carrying a bearer token does not
+ * cost a database round trip. The cache:</p>
+ * <ul>
+ *   <li>Is capped by size and evicts with Caffeine's W-TinyLFU policy</li>
+ *   <li>Expires entries after a fixed TTL, bounding staleness</li>
+ *   <li>Publishes hit, miss and eviction counts as {@code cache.*} metrics</li>
+ *   <li>Holds immutable {@link AuthenticatedUser} values (the same principal type as
+ *       stateless mode), never JPA entities</li>
+ * </ul>
+ *
+ * <p>Misses go to {@link UserRepository#findCredentialsByEmail(String)}, which is itself backed by
+ * Hibernate's second-level cache. Write paths that change a user (verification, password
+ * reset, role changes) must call {@link #invalidateAfterCommit(Long, String)}, which drops the user
+ * from both layers.</p>
+ */
+@Component
+public class UserPrincipalCache {
+
+    // Cache name used for the exported metrics
+    private static final String CACHE_NAME = "userPrincipals";
+
+    // Repository used to load principals on a cache miss
+    private final UserRepository userRepository;
+
+    // Keys are emails (String) or user ids (Long)
+    private final Cache<Object, AuthenticatedUser> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Resolve the user a verified token names: by email, or by id for compact-profile tokens
+    public Optional<AuthenticatedUser> find(ParsedToken token) {
+        if (token.subject() != null) {
+            return findByEmail(token.subject());
+        }
+        return token.userId() != null ? findById(token.userId()) : Optional.empty();
+    }
+
+    // Resolve a user by id, loading from the database only on a miss
+    public Optional<AuthenticatedUser> findById(Long id) {
+        AuthenticatedUser cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<AuthenticatedUser> loaded = userRepository.findCredentialsById(id)
+                .map(UserPrincipalCache::toPrincipal);
+        loaded.ifPresent(principal -> cache.put(id, principal));
+        return loaded;
+    }
+
+    // Resolve a user by email, loading from the database only on a miss (absent users are not cached).
+    // The load runs outside the cache's compute lock: a JDBC call inside it would pin a virtual thread.
+    public Optional<AuthenticatedUser> findByEmail(String email) {
+        AuthenticatedUser cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<AuthenticatedUser> loaded = userRepository.findCredentialsByEmail(email)
+                .map(UserPrincipalCache::toPrincipal);
+        loaded.ifPresent(principal -> cache.put(email, principal));
+        return loaded;
+    }
+
+    // Drop a cached principal (and its second-level cache entry) immediately
+    public void invalidate(Long userId, String email) {
+        cache.invalidate(email);
+        cache.invalidate(userId);
+        userRepository.evictFromSecondLevelCache(userId);
+    }
+
+    // Drop a cached principal now and again once the surrounding transaction completes,
+    // so a concurrent request cannot re-cache the pre-commit state
+    public void invalidateAfterCommit(Long userId, String email) {
+        invalidate(userId, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId, email);
+                }
+            });
+        }
+    }
+
+    // Helper: the principal placed in the SecurityContext
+    private static AuthenticatedUser toPrincipal(UserCredentials user) {
+        List<String> roles = user.role() != null ? List.of(user.role().name()) : List.of();
+        return new AuthenticatedUser(user.id(), user.email(), user.name(), roles, user.enabled());
+    }
+
+    // Snapshot of hit, miss and eviction counters
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
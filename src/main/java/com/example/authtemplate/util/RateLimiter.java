@@ -0,0 +1,87 @@
+package com.example.authtemplate.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free keyed token-bucket rate limiter.
+ *
+ * <p>Each key allows a burst of {@code capacity} requests and refills at
+ * {@code capacity} per {@code period}. Buckets are kept in GCRA form: a single
+ * "theoretical arrival time" per key, advanced with CAS, so acquiring never blocks:</p>
+ * <ul>
+ *   <li>A bucket whose arrival time has passed is full and indistinguishable from a new
+ *       one, so dropping it never changes a decision</li>
+ *   <li>Buckets live in a Caffeine cache that expires them one {@code period} after their
+ *       last use (by then they have refilled) and holds at most {@code maxKeys} of them;
+ *       the cache evicts as part of its own maintenance, so no sweep is needed</li>
+ *   <li>Past {@code maxKeys} the cache evicts by frequency (W-TinyLFU), so every new key still
+ *       gets a bucket of its own and keys sprayed once cannot displace regular clients</li>
+ * </ul>
+ */
+public class RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    // Nanoseconds needed to earn one token
+    private final long emissionIntervalNanos;
+
+    // Nanoseconds of credit a full bucket represents (capacity * emission interval)
+    private final long burstNanos;
+
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(int capacity, Duration period, int maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    public RateLimiter(int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        if (capacity <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("capacity and period must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + emissionIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Run pending expiry and size evictions now (tests; the cache otherwise does this as it is used)
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    // Number of tracked keys (approximate while evictions are pending)
+    public int size() {
+        return (int) buckets.estimatedSize();
+    }
+}
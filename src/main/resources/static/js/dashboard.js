@@ -41,6 +41,9 @@ function getUserRole() {
         roles = Array.isArray(payload.scope) ? payload.scope : [payload.scope];
     } else if (payload.role) {
         roles = [payload.role];
+    } else if (typeof payload.r === 'number') {
+        // Compact-profile tokens (jwt.compact.enabled) carry a bitmask of Role.bit() values
+        roles = decodeRoleMask(payload.r);
     }
     
     // If no roles found in standard claims, try to extract from a subject or other fields
@@ -68,6 +71,16 @@ function getUserRole() {
     return null;
 }
 
+// Role bits of compact-profile tokens; must match Role.bit() on the server
+const ROLE_BITS = {
+    ROLE_USER: 1,
+    ROLE_ADMIN: 2
+};
+
+function decodeRoleMask(mask) {
+    return Object.keys(ROLE_BITS).filter(role => (mask & ROLE_BITS[role]) !== 0);
+}
+
 function showDashboard() {
     const role = getUserRole();
     if (!role) {
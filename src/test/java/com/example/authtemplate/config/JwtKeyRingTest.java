@@ -0,0 +1,141 @@
+package com.example.authtemplate.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ES256 key ring: kid resolution across rotation, legacy HS256 gating and the JWK Set.
+ */
+class JwtKeyRingTest {
+
+    private static final String SECRET = "test-jwt-secret-0123456789abcdef0123456789";
+
+    @Test
+    void resolvesEveryConfiguredKidAndRejectsUnknownOnes() throws Exception {
+        KeyPair current = generateKeyPair();
+        KeyPair retired = generateKeyPair();
+        JwtKeyRing ring = new JwtKeyRing(properties("current", Map.of(
+                "current", keyPair(current, true),
+                "retired", keyPair(retired, false)), true), SECRET);
+
+        assertThat(ring.activeKid()).isEqualTo("current");
+        assertThat(subject(ring, es256("current", current))).isEqualTo("user@example.com");
+        // A token signed before the rotation still verifies against the retired public key
+        assertThat(subject(ring, es256("retired", retired))).isEqualTo("user@example.com");
+
+        assertThatThrownBy(() -> subject(ring, es256("unknown", current)))
+                .isInstanceOf(UnsupportedJwtException.class)
+                .hasMessageContaining("unknown");
+    }
+
+    @Test
+    void tokenWithoutKidVerifiesAgainstLegacySecretOnlyWhileAccepted() {
+        String legacyToken = Jwts.builder()
+                .setSubject("user@example.com")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(subject(JwtKeyRing.ephemeral(SECRET), legacyToken)).isEqualTo("user@example.com");
+        assertThatThrownBy(() -> subject(JwtKeyRing.ephemeral(null), legacyToken))
+                .isInstanceOf(UnsupportedJwtException.class)
+                .hasMessageContaining("no kid");
+    }
+
+    @Test
+    void shortLegacySecretFailsOnlyWhenLegacyTokensAreAccepted() throws Exception {
+        Map<String, JwtSigningProperties.KeyPair> keys = Map.of("current", keyPair(generateKeyPair(), true));
+
+        assertThatThrownBy(() -> new JwtKeyRing(properties("current", keys, true), "too-short"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("JWT_SECRET");
+        assertThat(new JwtKeyRing(properties("current", keys, false), "too-short").activeKid())
+                .isEqualTo("current");
+    }
+
+    @Test
+    void activeKidWithoutPrivateKeyIsRejected() throws Exception {
+        Map<String, JwtSigningProperties.KeyPair> keys = Map.of("current", keyPair(generateKeyPair(), false));
+
+        assertThatThrownBy(() -> new JwtKeyRing(properties("current", keys, false), SECRET))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("current");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void jwksPublishesPublicKeysOnly() throws Exception {
+        JwtKeyRing ring = new JwtKeyRing(properties("current", Map.of(
+                "current", keyPair(generateKeyPair(), true),
+                "retired", keyPair(generateKeyPair(), false)), false), SECRET);
+
+        List<Map<String, Object>> keys = (List<Map<String, Object>>) ring.jwks().get("keys");
+
+        assertThat(keys.stream().map(jwk -> jwk.get("kid"))).containsExactlyInAnyOrder("current", "retired");
+        for (Map<String, Object> jwk : keys) {
+            assertThat(jwk).containsEntry("kty", "EC")
+                    .containsEntry("crv", "P-256")
+                    .containsEntry("alg", "ES256")
+                    .containsEntry("use", "sig")
+                    .doesNotContainKey("d");
+            // 32-byte coordinates, base64url without padding
+            assertThat((String) jwk.get("x")).hasSize(43);
+            assertThat((String) jwk.get("y")).hasSize(43);
+        }
+    }
+
+    private static String subject(JwtKeyRing ring, String token) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(ring)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    private static String es256(String kid, KeyPair keyPair) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject("user@example.com")
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static JwtSigningProperties properties(String activeKid, Map<String, JwtSigningProperties.KeyPair> keys,
+                                                   boolean acceptLegacyHs256) {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setActiveKid(activeKid);
+        properties.setKeys(keys);
+        properties.setAcceptLegacyHs256(acceptLegacyHs256);
+        return properties;
+    }
+
+    private static JwtSigningProperties.KeyPair keyPair(KeyPair keyPair, boolean withPrivateKey) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        JwtSigningProperties.KeyPair configured = new JwtSigningProperties.KeyPair();
+        configured.setPublicKey(encoder.encodeToString(keyPair.getPublic().getEncoded()));
+        if (withPrivateKey) {
+            configured.setPrivateKey(encoder.encodeToString(keyPair.getPrivate().getEncoded()));
+        }
+        return configured;
+    }
+
+    private static KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
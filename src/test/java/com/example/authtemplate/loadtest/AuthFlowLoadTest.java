@@ -0,0 +1,233 @@
+package com.example.authtemplate.loadtest;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the email/password flows.
+ *
+ * <p>Boots the application on a random port against H2 and an in-process GreenMail
+ * SMTP server (profile {@code loadtest}), then drives concurrent virtual users through
+ * register, verify, login, /me, forgot-password, reset-password and a second login.
+ * Verification and reset tokens are read from the delivered mails.</p>
+ *
+ * <p>Prints throughput and p50/p95/p99 latency per endpoint, writes them to
+ * {@code target/loadtest-report.csv}, and fails when an endpoint exceeds its
+ * {@code loadtest.budget.<endpoint>.p95-ms}. Excluded from the default build; run with
+ * {@code ./mvnw -Ploadtest test}.</p>
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthFlowLoadTest {
+
+    private static final String PASSWORD = "Str0ng!Passw0rd";
+
+    private static final String NEW_PASSWORD = "N3w!Passw0rd-x";
+
+    private static final Pattern TOKEN = Pattern.compile("token=([A-Za-z0-9\\-_.]+)");
+
+    private static final List<String> ENDPOINTS =
+            List.of("register", "verify", "login", "me", "forgot-password", "reset-password", "mail");
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Latencies in nanoseconds by endpoint
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Test
+    void authFlowsStayWithinLatencyBudget() throws Exception {
+        int users = environment.getProperty("loadtest.users", Integer.class, 200);
+        int concurrency = environment.getProperty("loadtest.concurrency", Integer.class, 16);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> flows = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            String email = "user" + i + "@loadtest.example.com";
+            flows.add(executor.submit(() -> runFlow(email)));
+        }
+        for (Future<?> flow : flows) {
+            try {
+                flow.get();
+            } catch (Exception e) {
+                failures.incrementAndGet();
+                System.err.println("Flow failed: " + (e.getCause() != null ? e.getCause() : e));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        List<String> overBudget = report(elapsedNanos);
+        assertThat(failures.get()).as("failed flows").isZero();
+        assertThat(overBudget).as("endpoints over their p95 budget").isEmpty();
+    }
+
+    // One virtual user: register -> verify -> login -> me -> forgot -> reset -> login
+    private void runFlow(String email) throws Exception {
+        call("register", post("/api/auth/register",
+                "{\"name\":\"Load Test\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"));
+        String verificationToken = awaitToken(email, 1);
+        call("verify", HttpRequest.newBuilder(uri("/api/auth/verify?token=" + verificationToken)).GET());
+
+        String accessToken = login(email, PASSWORD);
+        call("me", HttpRequest.newBuilder(uri("/api/auth/me"))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET());
+
+        call("forgot-password", post("/api/auth/forgot-password?email=" + encode(email), ""));
+        String resetToken = awaitToken(email, 2);
+        call("reset-password", post("/api/auth/reset-password?token=" + resetToken
+                + "&newPassword=" + encode(NEW_PASSWORD), ""));
+
+        login(email, NEW_PASSWORD);
+    }
+
+    private String login(String email, String password) throws Exception {
+        String body = call("login", post("/api/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+        Matcher matcher = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(body);
+        assertThat(matcher.find()).as("login response contains a token").isTrue();
+        return matcher.group(1);
+    }
+
+    // Helper: time a request, failing the flow on a non-2xx answer
+    private String call(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        record(endpoint, System.nanoTime() - start);
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(endpoint + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    // Helper: wait until the user has received the n-th mail and return the token it links to
+    private String awaitToken(String email, int mailNumber) throws Exception {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(
+                environment.getProperty("loadtest.mail-timeout-ms", Long.class, 30_000L));
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < timeoutNanos) {
+            MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(email);
+            if (messages.length >= mailNumber) {
+                record("mail", System.nanoTime() - start);
+                Matcher matcher = TOKEN.matcher(String.valueOf(messages[mailNumber - 1].getContent()));
+                if (!matcher.find()) {
+                    throw new IllegalStateException("No token in mail to " + email);
+                }
+                return matcher.group(1);
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("Mail " + mailNumber + " to " + email + " not delivered");
+    }
+
+    // Helper: print and write per-endpoint statistics; returns endpoints over budget
+    private List<String> report(long elapsedNanos) throws IOException {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        List<String> overBudget = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("endpoint,requests,throughput_per_s,p50_ms,p95_ms,p99_ms,budget_p95_ms\n");
+
+        System.out.printf("%nLoad test: %.1f s, %d failed flows%n", elapsedSeconds, failures.get());
+        System.out.printf("%-16s %8s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "budget");
+        for (String endpoint : ENDPOINTS) {
+            long[] sorted = latencies.getOrDefault(endpoint, new ConcurrentLinkedQueue<>()).stream()
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .toArray();
+            if (sorted.length == 0) {
+                continue;
+            }
+            double p50 = percentileMs(sorted, 0.50);
+            double p95 = percentileMs(sorted, 0.95);
+            double p99 = percentileMs(sorted, 0.99);
+            double throughput = sorted.length / elapsedSeconds;
+            Long budget = environment.getProperty("loadtest.budget." + endpoint + ".p95-ms", Long.class);
+            if (budget != null && p95 > budget) {
+                overBudget.add(endpoint + " p95 " + String.format("%.1f", p95) + " ms > " + budget + " ms");
+            }
+
+            System.out.printf("%-16s %8d %10.1f %9.1f %9.1f %9.1f %9s%n",
+                    endpoint, sorted.length, throughput, p50, p95, p99, budget == null ? "-" : budget);
+            csv.append(String.format("%s,%d,%.2f,%.2f,%.2f,%.2f,%s%n",
+                    endpoint, sorted.length, throughput, p50, p95, p99, budget == null ? "" : budget));
+        }
+
+        Path output = Path.of("target", "loadtest-report.csv");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, csv);
+        return overBudget;
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        int rank = (int) Math.ceil(percentile * sortedNanos.length);
+        return sortedNanos[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    private void record(String endpoint, long nanos) {
+        latencies.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>()).add(nanos);
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
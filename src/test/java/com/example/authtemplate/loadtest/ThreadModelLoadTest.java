@@ -0,0 +1,170 @@
+package com.example.authtemplate.loadtest;
+
+import com.example.authtemplate.SpringAuthTemplateApplication;
+import com.example.authtemplate.config.JwtUtil;
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+import com.example.authtemplate.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform-thread versus virtual-thread request handling at high concurrency.
+ *
+ * <p>Starts the application twice under the {@code loadtest} profile, once per thread
+ * model, seeds verified users, then keeps {@code loadtest.threads.clients} concurrent
+ * clients calling {@code /api/auth/me} (JWT filter, principal cache miss, JDBC lookup)
+ * for {@code loadtest.threads.duration-s}. Prints and writes throughput and p50/p99 per
+ * model to {@code target/loadtest-threads.csv}. Point {@code spring.datasource.*} at a
+ * real MySQL with {@code -D} to include network latency, which is where the models differ.
+ * Run with {@code ./mvnw -Ploadtest test -Dtest=ThreadModelLoadTest}.</p>
+ */
+@Tag("loadtest")
+class ThreadModelLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.threads.clients", 1000);
+
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.threads.duration-s", 20);
+
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.threads.warmup-s", 5);
+
+    private static final int USERS = 500;
+
+    @Test
+    void compareThreadModels() throws Exception {
+        StringBuilder csv = new StringBuilder("threads,clients,requests,errors,throughput_per_s,p50_ms,p99_ms\n");
+        System.out.printf("%n%-9s %8s %9s %7s %10s %9s %9s%n",
+                "threads", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            Result result = run(virtual);
+            String model = virtual ? "virtual" : "platform";
+            System.out.printf("%-9s %8d %9d %7d %10.1f %9.1f %9.1f%n",
+                    model, CLIENTS, result.requests(), result.errors(), result.throughput(), result.p50Ms(), result.p99Ms());
+            csv.append(String.format("%s,%d,%d,%d,%.2f,%.2f,%.2f%n",
+                    model, CLIENTS, result.requests(), result.errors(), result.throughput(), result.p50Ms(), result.p99Ms()));
+            assertThat(result.errors()).as("failed requests with %s threads", model).isZero();
+        }
+
+        Path output = Path.of("target", "loadtest-threads.csv");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, csv);
+    }
+
+    // Helper: boot the application in one thread model and drive it
+    private Result run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringAuthTemplateApplication.class)
+                .profiles("loadtest")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=jdbc:h2:mem:threads-" + virtual + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        // Every request misses the principal cache and reaches JDBC
+                        "auth.principal-cache.max-size=0")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<String> tokens = seedUsers(context);
+            return drive(port, tokens);
+        }
+    }
+
+    private static List<String> seedUsers(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        List<String> tokens = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = userRepository.save(User.builder()
+                    .name("Load Test")
+                    .email("threads" + i + "@loadtest.example.com")
+                    .password("{noop}unused")
+                    .enabled(true)
+                    .role(Role.ROLE_USER)
+                    .build());
+            tokens.add(jwtUtil.generateToken(user));
+        }
+        return tokens;
+    }
+
+    // Helper: CLIENTS closed-loop clients on virtual threads; latencies recorded after warm-up
+    private static Result drive(int port, List<String> tokens) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/auth/me");
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+
+        long warmupEnd = System.nanoTime() + WARMUP_SECONDS * 1_000_000_000L;
+        long end = warmupEnd + DURATION_SECONDS * 1_000_000_000L;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                String token = tokens.get(c % tokens.size());
+                running.add(clients.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri)
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (now >= warmupEnd) {
+                                latencies.add(System.nanoTime() - now);
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted.length, errors.get(), sorted.length / (double) DURATION_SECONDS,
+                percentileMs(sorted, 0.50), percentileMs(sorted, 0.99));
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sortedNanos.length);
+        return sortedNanos[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    private record Result(int requests, int errors, double throughput, double p50Ms, double p99Ms) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.authtemplate.loadtest;
+
+import com.example.authtemplate.SpringAuthTemplateApplication;
+import com.example.authtemplate.dto.LoginRequest;
+import com.example.authtemplate.entity.Role;
+import com.example.authtemplate.entity.User;
+import com.example.authtemplate.repository.UserRepository;
+import com.example.authtemplate.service.AuthService;
+import com.example.authtemplate.service.PasswordHashingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Database round trips per login with and without the Hibernate second-level cache.
+ *
+ * <p>Starts the application under the {@code loadtest} profile twice, with
+ * {@code hibernate.cache.use_second_level_cache} off and on, seeds verified users, logs
+ * each of them in once to warm up, then logs them all in again and counts the JDBC
+ * statements Hibernate prepared ({@link Statistics}) during the measured round. Prints
+ * and writes statements per login and cache hits to {@code target/loadtest-user-cache.csv}.
+ * Run with {@code ./mvnw -Ploadtest test -Dtest=UserCacheLoadTest}.</p>
+ */
+@Tag("loadtest")
+class UserCacheLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.user-cache.users", 200);
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    @Test
+    void compareRoundTripsPerLogin() throws Exception {
+        StringBuilder csv = new StringBuilder("l2_cache,logins,statements,statements_per_login,l2_hits,l2_misses\n");
+        System.out.printf("%n%-9s %7s %11s %10s %8s %8s%n",
+                "l2 cache", "logins", "statements", "per login", "hits", "misses");
+
+        Result withoutCache = run(false);
+        Result withCache = run(true);
+        for (Result result : new Result[]{withoutCache, withCache}) {
+            String mode = result.cached() ? "on" : "off";
+            System.out.printf("%-9s %7d %11d %10.2f %8d %8d%n",
+                    mode, USERS, result.statements(), result.statementsPerLogin(), result.hits(), result.misses());
+            csv.append(String.format("%s,%d,%d,%.2f,%d,%d%n",
+                    mode, USERS, result.statements(), result.statementsPerLogin(), result.hits(), result.misses()));
+        }
+
+        Path output = Path.of("target", "loadtest-user-cache.csv");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, csv);
+
+        // Warm logins resolve the user from the cache: one fewer statement each
+        assertThat(withCache.statementsPerLogin()).isLessThanOrEqualTo(withoutCache.statementsPerLogin() - 1);
+    }
+
+    // Helper: boot the application with the cache on or off and measure a warm round of logins
+    private Result run(boolean cached) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringAuthTemplateApplication.class)
+                .profiles("loadtest")
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cached,
+                        "spring.datasource.url=jdbc:h2:mem:user-cache-" + cached + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        // Keep scheduled jobs from adding statements to the count
+                        "auth.mail-outbox.poll-interval-ms=3600000",
+                        "auth.revocation.sync-interval-ms=3600000",
+                        "auth.purge.cron=-")
+                .run()) {
+            seedUsers(context);
+            AuthService authService = context.getBean(AuthService.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            loginAll(authService);
+            statistics.clear();
+            loginAll(authService);
+
+            return new Result(cached, statistics.getPrepareStatementCount(),
+                    statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+        }
+    }
+
+    private static void seedUsers(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String hash = context.getBean(PasswordHashingService.class).encode(PASSWORD).join();
+        for (int i = 0; i < USERS; i++) {
+            userRepository.save(User.builder()
+                    .name("Load Test")
+                    .email(email(i))
+                    .password(hash)
+                    .enabled(true)
+                    .role(Role.ROLE_USER)
+                    .build());
+        }
+    }
+
+    private static void loginAll(AuthService authService) {
+        for (int i = 0; i < USERS; i++) {
+            LoginRequest request = new LoginRequest();
+            request.setEmail(email(i));
+            request.setPassword(PASSWORD);
+            authService.login(request).join();
+        }
+    }
+
+    private static String email(int i) {
+        return "cache" + i + "@loadtest.example.com";
+    }
+
+    private record Result(boolean cached, long statements, long hits, long misses) {
+
+        double statementsPerLogin() {
+            return statements / (double) USERS;
+        }
+    }
+}
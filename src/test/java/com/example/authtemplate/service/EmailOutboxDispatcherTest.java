@@ -0,0 +1,103 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.EmailOutboxMessage;
+import com.example.authtemplate.entity.EmailOutboxStatus;
+import com.example.authtemplate.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the outbox dispatcher against an in-process GreenMail SMTP server.
+ */
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+    }
+
+    @Test
+    void sendsDueMessagesAndMarksThemSent() throws Exception {
+        EmailOutboxMessage first = message(1L, "first@example.com");
+        EmailOutboxMessage second = message(2L, "second@example.com");
+        givenDue(first, second);
+
+        dispatcher(ServerSetupTest.SMTP.getPort(), 3).dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("Subject");
+        assertThat(first.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(first.getSentAt()).isNotNull();
+        assertThat(first.getBody()).as("token-bearing body cleared once sent").isEmpty();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedWithBackoffThenDeadLettered() {
+        EmailOutboxMessage message = message(1L, "user@example.com");
+        int unusedPort = ServerSetupTest.SMTP.getPort() + 100;
+
+        givenDue(message);
+        dispatcher(unusedPort, 2).dispatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(message.getLastError()).isNotBlank();
+
+        givenDue(message);
+        dispatcher(unusedPort, 2).dispatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(2);
+    }
+
+    private void givenDue(EmailOutboxMessage... messages) {
+        List<EmailOutboxMessage> batch = List.of(messages);
+        when(repository.findDueForUpdate(eq(EmailOutboxStatus.PENDING), any(), any()))
+                .thenReturn(batch)
+                .thenReturn(List.of());
+        when(repository.findAllById(any())).thenReturn(batch);
+    }
+
+    private EmailOutboxDispatcher dispatcher(int port, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().setProperty("mail.from", "noreply@example.com");
+        return new EmailOutboxDispatcher(repository, mailSender, Runnable::run, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 50, maxAttempts, 1000, 60000, 60000);
+    }
+
+    private static EmailOutboxMessage message(Long id, String recipient) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Subject")
+                .body("Body")
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.TokenPurpose;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sharded in-memory token store: single consumption and timer-wheel expiry.
+ */
+class InMemoryOneTimeTokenStoreTest {
+
+    private InMemoryOneTimeTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOneTimeTokenStore(4, 1000, 60, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void tokenIsConsumedOnceAndOnlyForItsPurpose() {
+        String token = store.issue(TokenPurpose.EMAIL_VERIFICATION, 7L, Duration.ofHours(24));
+
+        assertThat(store.find(TokenPurpose.PASSWORD_RESET, token)).isEmpty();
+        assertThat(store.find(TokenPurpose.EMAIL_VERIFICATION, token))
+                .hasValueSatisfying(entry -> assertThat(entry.userId()).isEqualTo(7L));
+        assertThat(store.consume(TokenPurpose.EMAIL_VERIFICATION, token)).isPresent();
+        assertThat(store.consume(TokenPurpose.EMAIL_VERIFICATION, token)).isEmpty();
+    }
+
+    @Test
+    void wheelRemovesOnlyDueTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        store.save(TokenPurpose.PASSWORD_RESET, "due", 1L, now.plusSeconds(30));
+        // Same slot one turn later (60 slots of 1 s): must survive the first pass
+        store.save(TokenPurpose.PASSWORD_RESET, "next-turn", 1L, now.plusSeconds(90));
+        store.save(TokenPurpose.PASSWORD_RESET, "consumed", 1L, now.plusSeconds(30));
+        store.consume(TokenPurpose.PASSWORD_RESET, "consumed");
+
+        assertThat(store.deleteExpired(now.plusSeconds(31), 500)).isEqualTo(1);
+        assertThat(store.find(TokenPurpose.PASSWORD_RESET, "due")).isEmpty();
+        assertThat(store.find(TokenPurpose.PASSWORD_RESET, "next-turn")).isPresent();
+        assertThat(store.size()).isEqualTo(1);
+
+        // A long pause is caught up in at most one full turn
+        assertThat(store.deleteExpired(now.plusHours(1), 500)).isEqualTo(1);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void deletesTokensOfRemovedUsers() {
+        store.issue(TokenPurpose.EMAIL_VERIFICATION, 1L, Duration.ofHours(24));
+        String kept = store.issue(TokenPurpose.EMAIL_VERIFICATION, 2L, Duration.ofHours(24));
+
+        store.deleteByUserIds(List.of(1L));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.find(TokenPurpose.EMAIL_VERIFICATION, kept)).isPresent();
+    }
+}
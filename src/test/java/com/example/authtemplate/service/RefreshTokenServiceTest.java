@@ -0,0 +1,107 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.RefreshToken;
+import com.example.authtemplate.entity.User;
+import com.example.authtemplate.exception.InvalidCredentialsException;
+import com.example.authtemplate.repository.RefreshTokenRepository;
+import com.example.authtemplate.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Refresh-token rotation and reuse detection, against a map-backed repository mock.
+ */
+class RefreshTokenServiceTest {
+
+    private final Map<String, RefreshToken> tokensByHash = new HashMap<>();
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.save(any())).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            tokensByHash.put(token.getTokenHash(), token);
+            return token;
+        });
+        when(refreshTokenRepository.findByTokenHashForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(tokensByHash.get(invocation.<String>getArgument(0))));
+        when(refreshTokenRepository.revokeFamily(anyString(), any())).thenAnswer(invocation -> {
+            String familyId = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(1);
+            int revoked = 0;
+            for (RefreshToken token : tokensByHash.values()) {
+                if (token.getFamilyId().equals(familyId) && token.getRevokedAt() == null) {
+                    token.setRevokedAt(now);
+                    revoked++;
+                }
+            }
+            return revoked;
+        });
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.getReferenceById(7L))
+                .thenReturn(User.builder().id(7L).email("user@example.com").enabled(true).build());
+
+        service = new RefreshTokenService(refreshTokenRepository, userRepository,
+                mock(PlatformTransactionManager.class), 60_000);
+    }
+
+    @Test
+    void rotationReturnsNewTokenForSameUser() {
+        String issued = service.issue(7L);
+
+        RefreshTokenService.Rotation rotation = service.rotate(issued);
+
+        assertThat(rotation.refreshToken()).isNotBlank().isNotEqualTo(issued);
+        assertThat(rotation.user().getId()).isEqualTo(7L);
+        assertThat(service.rotate(rotation.refreshToken()).refreshToken())
+                .isNotEqualTo(rotation.refreshToken());
+    }
+
+    @Test
+    void rotatedTokenIsRejected() {
+        String issued = service.issue(7L);
+        service.rotate(issued);
+
+        assertThatThrownBy(() -> service.rotate(issued))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessageContaining("already been used");
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesWholeFamily() {
+        String issued = service.issue(7L);
+        String current = service.rotate(issued).refreshToken();
+        String otherLogin = service.issue(7L);
+
+        assertThatThrownBy(() -> service.rotate(issued)).isInstanceOf(InvalidCredentialsException.class);
+
+        // The legitimate successor is gone too, but a separate login is untouched
+        assertThatThrownBy(() -> service.rotate(current))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessageContaining("already been used");
+        assertThat(service.rotate(otherLogin).refreshToken()).isNotBlank();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThatThrownBy(() -> service.rotate("not-a-token"))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Invalid refresh token");
+    }
+}
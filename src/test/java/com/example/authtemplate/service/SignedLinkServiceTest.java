@@ -0,0 +1,88 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.entity.TokenPurpose;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Signed verification and reset links: state binding, tampering, expiry and purpose.
+ */
+class SignedLinkServiceTest {
+
+    private final SignedLinkService service =
+            new SignedLinkService(true, "", "test-jwt-secret-0123456789abcdef0123456789");
+
+    @Test
+    void resetLinkStopsMatchingOnceThePasswordChanges() {
+        String link = service.issue(TokenPurpose.PASSWORD_RESET, 7L, "$2a$10$oldHash", Duration.ofMinutes(30));
+
+        SignedLinkService.SignedLink parsed = service.parse(TokenPurpose.PASSWORD_RESET, link).orElseThrow();
+
+        assertThat(parsed.userId()).isEqualTo(7L);
+        assertThat(parsed.isExpired()).isFalse();
+        assertThat(service.matches(parsed, "$2a$10$oldHash")).isTrue();
+        assertThat(service.matches(parsed, "$2a$10$newHash")).isFalse();
+    }
+
+    @Test
+    void verificationLinkStopsMatchingOnceTheAccountIsEnabled() {
+        String link = service.issue(TokenPurpose.EMAIL_VERIFICATION, 7L, "enabled=false", Duration.ofHours(24));
+
+        SignedLinkService.SignedLink parsed = service.parse(TokenPurpose.EMAIL_VERIFICATION, link).orElseThrow();
+
+        assertThat(service.matches(parsed, "enabled=false")).isTrue();
+        assertThat(service.matches(parsed, "enabled=true")).isFalse();
+    }
+
+    @Test
+    void tamperedLinkIsRejected() {
+        String link = service.issue(TokenPurpose.PASSWORD_RESET, 7L, "hash", Duration.ofMinutes(30));
+        int dot = link.indexOf('.');
+
+        // Flip a payload character (the user id) and a MAC character
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, flip(link, 3))).isEmpty();
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, flip(link, dot + 1))).isEmpty();
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, link + ".x")).isEmpty();
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, "not-a-link")).isEmpty();
+    }
+
+    @Test
+    void linkSignedWithAnotherKeyIsRejected() {
+        SignedLinkService other = new SignedLinkService(true, "another-signed-link-secret-0123456789", "unused");
+        String link = other.issue(TokenPurpose.PASSWORD_RESET, 7L, "hash", Duration.ofMinutes(30));
+
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, link)).isEmpty();
+    }
+
+    @Test
+    void expiredLinkIsReportedExpired() {
+        String link = service.issue(TokenPurpose.PASSWORD_RESET, 7L, "hash", Duration.ofSeconds(-1));
+
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, link))
+                .hasValueSatisfying(parsed -> assertThat(parsed.isExpired()).isTrue());
+    }
+
+    @Test
+    void linkForAnotherPurposeIsRejected() {
+        String link = service.issue(TokenPurpose.EMAIL_VERIFICATION, 7L, "enabled=false", Duration.ofHours(24));
+
+        assertThat(service.parse(TokenPurpose.PASSWORD_RESET, link)).isEmpty();
+    }
+
+    @Test
+    void onlySignedLinksContainADot() {
+        String link = service.issue(TokenPurpose.EMAIL_VERIFICATION, 7L, "enabled=false", Duration.ofHours(24));
+
+        assertThat(SignedLinkService.isSignedLink(link)).isTrue();
+        assertThat(SignedLinkService.isSignedLink("3f2b6c1e-stored-token")).isFalse();
+    }
+
+    // Replace one base64url character with a different one
+    private static String flip(String link, int index) {
+        char replacement = link.charAt(index) == 'A' ? 'B' : 'A';
+        return link.substring(0, index) + replacement + link.substring(index + 1);
+    }
+}
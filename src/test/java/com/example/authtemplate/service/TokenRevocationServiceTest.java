@@ -0,0 +1,94 @@
+package com.example.authtemplate.service;
+
+import com.example.authtemplate.config.ParsedToken;
+import com.example.authtemplate.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revocation denylist: local revocations, incremental sync from other nodes and rebuilds.
+ */
+class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        when(repository.findActiveJtis(any())).thenReturn(List.of());
+        when(repository.findJtisRevokedAfter(any())).thenReturn(List.of());
+        when(repository.existsById(anyString())).thenReturn(true);
+        service = new TokenRevocationService(repository, new SimpleMeterRegistry(), 1000, 0.001, 10_000);
+        service.rebuild();
+    }
+
+    @Test
+    void locallyRevokedTokenIsRejectedAtOnce() {
+        assertThat(service.revoke(token("jti-local"))).isTrue();
+
+        assertThat(service.isRevoked("jti-local")).isTrue();
+    }
+
+    @Test
+    void unrevokedTokenNeverReachesTheDatabase() {
+        assertThat(service.isRevoked("jti-unknown")).isFalse();
+        assertThat(service.isRevoked(null)).isFalse();
+
+        verify(repository, never()).existsById(anyString());
+    }
+
+    @Test
+    void revocationsFromOtherNodesArePickedUpBySync() {
+        assertThat(service.isRevoked("jti-remote")).isFalse();
+
+        when(repository.findJtisRevokedAfter(any())).thenReturn(List.of("jti-remote"));
+        service.syncIncrementally();
+
+        assertThat(service.isRevoked("jti-remote")).isTrue();
+    }
+
+    @Test
+    void syncKeepsEntriesAddedEarlierUntilTheNextRebuild() {
+        when(repository.findJtisRevokedAfter(any()))
+                .thenReturn(List.of("jti-first"))
+                .thenReturn(List.of("jti-second"));
+        service.syncIncrementally();
+        service.syncIncrementally();
+
+        assertThat(service.isRevoked("jti-first")).isTrue();
+        assertThat(service.isRevoked("jti-second")).isTrue();
+
+        // Expired entries are no longer returned, so a rebuild drops them
+        when(repository.findActiveJtis(any())).thenReturn(List.of("jti-second"));
+        service.rebuild();
+
+        assertThat(service.isRevoked("jti-first")).isFalse();
+        assertThat(service.isRevoked("jti-second")).isTrue();
+    }
+
+    @Test
+    void tokenWithoutJtiCannotBeRevoked() {
+        ParsedToken token = new ParsedToken("t", "user@example.com", 1L, null, true, List.of("USER"),
+                new Date(), new Date(System.currentTimeMillis() + 60_000), null);
+
+        assertThat(service.revoke(token)).isFalse();
+    }
+
+    private static ParsedToken token(String jti) {
+        return new ParsedToken("t", "user@example.com", 1L, null, true, List.of("USER"),
+                new Date(), new Date(System.currentTimeMillis() + 60_000), jti);
+    }
+}
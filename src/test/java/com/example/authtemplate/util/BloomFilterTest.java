@@ -0,0 +1,54 @@
+package com.example.authtemplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bloom filter: no false negatives, and a false-positive rate close to the target.
+ */
+class BloomFilterTest {
+
+    @Test
+    void everyInsertedValueIsReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).as(value).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtExpectedLoad() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Generous bound: 1% target, 100k probes
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.001, 0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.001);
+
+        assertThat(filter.mightContain("anything")).isFalse();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+}
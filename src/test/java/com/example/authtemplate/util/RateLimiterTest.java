@@ -0,0 +1,102 @@
+package com.example.authtemplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GCRA rate limiter on a manual clock: burst, refill, per-key isolation and key bounding.
+ */
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstOfCapacityThenReportsWait() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(3), 100, clock::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), 100, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(500).toNanos());
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+
+        // An idle period never credits more than the burst
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofSeconds(1), 100, clock::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void keysBeyondMaxKeysGetTheirOwnBucketsWhileSizeStaysBounded() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofSeconds(1), 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // Sprayed keys must not throttle each other (or a new client) through a shared bucket
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isZero();
+
+        limiter.cleanUp();
+        assertThat(limiter.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void bucketIdleForAPeriodStartsFull() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), 100, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        clock.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    void expiresBucketsIdleForAPeriod() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(2), 100, clock::get);
+        limiter.tryAcquire("idle");
+        clock.addAndGet(Duration.ofMillis(1500).toNanos());
+        limiter.tryAcquire("busy");
+        clock.addAndGet(Duration.ofMillis(1000).toNanos());
+
+        limiter.cleanUp();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNonPositiveConfiguration() {
+        assertThatThrownBy(() -> new RateLimiter(0, Duration.ofSeconds(1), 100))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimiter(1, Duration.ZERO, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}